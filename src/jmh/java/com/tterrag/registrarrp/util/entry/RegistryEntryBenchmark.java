@@ -0,0 +1,59 @@
+package com.tterrag.registrarrp.util.entry;
+
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.RegistryObject;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.Block;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares {@link RegistryEntry#get()} before and after {@link RegistryEntry#freeze()}, which is what the entries of a registrate go through once it has
+ * registered everything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryEntryBenchmark {
+	private RegistryEntry<Block> unfrozen;
+	private RegistryEntry<Block> frozen;
+	
+	@Setup
+	public void setup() {
+		Bootstrap.initialize();
+		unfrozen = entry();
+		frozen = entry();
+		frozen.freeze();
+	}
+	
+	private static RegistryEntry<Block> entry() {
+		return new RegistryEntry<>(mock(AbstractRegistrate.class), RegistryObject.of(new Identifier("minecraft", "stone"), Registry.BLOCK));
+	}
+	
+	@Benchmark
+	public Block getUnfrozen() {
+		return unfrozen.get();
+	}
+	
+	@Benchmark
+	public Block getFrozen() {
+		return frozen.get();
+	}
+}
@@ -0,0 +1,76 @@
+package com.tterrag.registrarrp.util.entry;
+
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.RegistryObject;
+import net.minecraft.Bootstrap;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures hashing and map lookups of {@link RegistryEntry RegistryEntries} keyed by every block and item id, the way callers use entries as map keys. Each
+ * id is in both registries, so entries of the same name but different types share a map.
+ * <p>
+ * Comparing against equality by id alone means running the same benchmark on the tree before registry-aware equality was introduced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryEntryHashBenchmark {
+	private List<RegistryEntry<?>> keys;
+	private List<RegistryEntry<?>> lookups;
+	private Map<RegistryEntry<?>, Integer> map;
+	
+	@Setup
+	public void setup() {
+		Bootstrap.initialize();
+		AbstractRegistrate<?> owner = mock(AbstractRegistrate.class);
+		keys = new ArrayList<>();
+		lookups = new ArrayList<>();
+		for (Identifier id : Registry.BLOCK.getIds()) {
+			keys.add(new RegistryEntry<>(owner, RegistryObject.of(id, Registry.BLOCK)));
+			keys.add(new RegistryEntry<>(owner, RegistryObject.of(id, Registry.ITEM)));
+			// Equal but not identical, so that lookups go through equals()
+			lookups.add(new RegistryEntry<>(owner, RegistryObject.of(id, Registry.BLOCK)));
+		}
+		map = new HashMap<>();
+		for (int i = 0; i < keys.size(); i++) {
+			map.put(keys.get(i), i);
+		}
+	}
+	
+	@Benchmark
+	public void hashCodes(Blackhole blackhole) {
+		for (RegistryEntry<?> key : keys) {
+			blackhole.consume(key.hashCode());
+		}
+	}
+	
+	@Benchmark
+	public void mapLookups(Blackhole blackhole) {
+		for (RegistryEntry<?> lookup : lookups) {
+			blackhole.consume(map.get(lookup));
+		}
+	}
+}
@@ -2,32 +2,57 @@ package com.tterrag.registrarrp;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
 import com.tterrag.registrarrp.builders.*;
 import com.tterrag.registrarrp.builders.ContainerBuilder.ContainerFactory;
 import com.tterrag.registrarrp.builders.ContainerBuilder.ForgeContainerFactory;
 import com.tterrag.registrarrp.builders.ContainerBuilder.ScreenFactory;
 import com.tterrag.registrarrp.builders.EnchantmentBuilder.EnchantmentFactory;
+import com.tterrag.registrarrp.fabric.DefinitionReader;
+import com.tterrag.registrarrp.fabric.DerivedTexture;
+import com.tterrag.registrarrp.fabric.DerivedTextures;
+import com.tterrag.registrarrp.fabric.GeneratedModels;
+import com.tterrag.registrarrp.fabric.IndexedResourcePack;
+import com.tterrag.registrarrp.fabric.LangTable;
+import com.tterrag.registrarrp.fabric.LootTableTemplate;
+import com.tterrag.registrarrp.fabric.PrebuiltData;
+import com.tterrag.registrarrp.fabric.RecipeBatch;
+import com.tterrag.registrarrp.fabric.RecipeIndex;
 import com.tterrag.registrarrp.fabric.RegistrARRP;
 import com.tterrag.registrarrp.fabric.RegistryObject;
 import com.tterrag.registrarrp.fabric.RegistryUtil;
+import com.tterrag.registrarrp.fabric.ResourcePackDumper;
 import com.tterrag.registrarrp.fabric.SimpleFlowableFluid;
 import com.tterrag.registrarrp.util.DebugMarkers;
 import com.tterrag.registrarrp.util.NonNullLazyValue;
+import com.tterrag.registrarrp.util.entry.EntryAttachment;
 import com.tterrag.registrarrp.util.entry.RegistryEntry;
+import com.tterrag.registrarrp.util.entry.RegistryEntryList;
+import com.tterrag.registrarrp.util.entry.RegistryEntrySet;
 import com.tterrag.registrarrp.util.nullness.*;
 import net.devtech.arrp.api.RRPCallback;
 import net.devtech.arrp.api.RuntimeResourcePack;
+import net.devtech.arrp.impl.RuntimeResourcePackImpl;
 import net.devtech.arrp.json.lang.JLang;
+import net.devtech.arrp.json.blockstate.JState;
+import net.devtech.arrp.json.loot.JLootTable;
+import net.devtech.arrp.json.models.JModel;
 import net.devtech.arrp.json.recipe.JRecipe;
 import net.devtech.arrp.json.tags.JTag;
+import net.fabricmc.api.EnvType;
 import net.fabricmc.fabric.api.item.v1.FabricItemSettings;
 import net.fabricmc.fabric.api.object.builder.v1.block.FabricBlockSettings;
 import net.fabricmc.fabric.api.object.builder.v1.entity.FabricEntityTypeBuilder;
 import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
 import net.minecraft.block.Block;
 import net.minecraft.block.Material;
 import net.minecraft.block.entity.BlockEntity;
@@ -43,6 +68,7 @@ import net.minecraft.entity.SpawnGroup;
 import net.minecraft.entity.mob.MobEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemGroup;
+import net.minecraft.resource.ResourceType;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.tag.BlockTags;
 import net.minecraft.tag.FluidTags;
@@ -54,12 +80,15 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.nio.file.Paths;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
 
 /**
  * Manages all registrations and data generators for a mod.
@@ -88,10 +117,28 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	
 	@javax.annotation.Generated("lombok")
 	private static final org.apache.logging.log4j.Logger log = org.apache.logging.log4j.LogManager.getLogger(AbstractRegistrate.class);
+	private static final HashFunction RECIPE_HASH = Hashing.murmur3_128();
 	private final Map<String, JLang> langs = new HashMap<>();
+	private final LangTable langTable = new LangTable();
+	private final GeneratedModels generatedModels = new GeneratedModels();
+	private final DerivedTextures derivedTextures = new DerivedTextures();
 	private final Map<Identifier, JTag> tags = new HashMap<>();
+	private final Map<Identifier, Set<Identifier>> tagEntries = new LinkedHashMap<>();
+	private final RequiredTags requiredTags = new RequiredTags();
 	private final RuntimeResourcePack resourcePack;
-	private final Table<String, Class<?>, Registration<?, ?>> registrations = HashBasedTable.create();
+	private final IndexedResourcePack indexedResourcePack;
+	// Insertion ordered, so that entries are created in the order they were registered
+	private final Table<String, Class<?>, Registration<?, ?>> registrations = Tables.newCustomTable(new LinkedHashMap<>(), LinkedHashMap::new);
+	// Entries of each type by index, since the table's columns follow the order in which names were first used for any type
+	private final Map<Class<?>, List<RegistryEntry<?>>> entriesByIndex = new HashMap<>();
+	// Views for getAllIndexed, dropped whenever a registration of their type arrives
+	private final Map<Class<?>, RegistryEntryList<?>> entryLists = new ConcurrentHashMap<>();
+	// Shared with the entries themselves, so that they can find their siblings without going through the table
+	private final Map<String, Map<Class<?>, RegistryEntry<?>>> siblings = new HashMap<>();
+	// Filled in as objects are registered, and only read once they are
+	private final Map<Object, RegistryEntry<?>> entriesByObject = new IdentityHashMap<>();
+	// Allocated once their type has been registered
+	private final Multimap<Class<?>, EntryAttachment<?, ?>> attachments = HashMultimap.create();
 	/**
 	 * Expected to be emptied by the time registration occurs, is emptied by {@link #accept(String, Class, Builder, NonNullSupplier, NonNullFunction)}
 	 */
@@ -107,13 +154,16 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		final List<Pair<String, String>> ret = new ArrayList<>();
 		return ret;
 	});
-	private long recipes = 0;
+	private final Map<Identifier, HashCode> recipeHashes = new HashMap<>();
+	private final RecipeIndex recipeIndex = new RecipeIndex();
 	@Nullable
 	private String currentName;
 	@Nullable
 	private NonNullLazyValue<? extends ItemGroup> currentGroup;
 	private boolean skipErrors;
 	public boolean doDatagen = true;
+	private ResourcePackDumper.Format dumpFormat = ResourcePackDumper.Format.DIRECTORY;
+	private boolean prebuiltData;
 	
 	/**
 	 * Construct a new Registrate for the given mod ID.
@@ -123,7 +173,12 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	protected AbstractRegistrate(String modid) {
 		this.modid = modid;
 		resourcePack = RuntimeResourcePack.create(modid + ":generated_resources");
-		RRPCallback.BEFORE_VANILLA.register((packs) -> packs.add(getResourcePack()));
+		indexedResourcePack = new IndexedResourcePack(resourcePack);
+		RRPCallback.BEFORE_VANILLA.register((packs) -> {
+			// Resources may have been added since the last reload
+			indexedResourcePack.invalidate();
+			packs.add(indexedResourcePack);
+		});
 	}
 	
 	public static boolean isDevEnvironment() {
@@ -143,12 +198,34 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 			onRegister(registry);
 			onRegisterLate(registry);
 		});
+		for (Registration<?, ?> registration : registrations.values()) {
+			registration.getDelegate().freeze();
+		}
 		
 		if (doDatagen) {
+			// A dedicated server never reads models, so there they are neither pruned nor serialized
+			boolean client = FabricLoader.getInstance().getEnvironmentType() == EnvType.CLIENT;
+			int pruned = generatedModels.emit(indexedResourcePack, client);
+			if (pruned > 0) {
+				log.debug(DebugMarkers.DATA, "Left out {} unreferenced model(s)", pruned);
+			}
+			// Only the client reads textures, so only the client generates them up front
+			derivedTextures.emit(indexedResourcePack, client);
+			
+			// Entries added through getOrCreateLang fill any keys addLangEntry did not
 			for (Map.Entry<String, JLang> entry : langs.entrySet()) {
-				getResourcePack().addLang(new Identifier(getModid(), entry.getKey()), entry.getValue());
+				entry.getValue().getLang().forEach((key, value) -> langTable.put(entry.getKey(), key, value));
+			}
+			// Only locales the game actually loads are ever written out
+			for (String locale : langTable.getLocales()) {
+				addGeneratedResource(ResourceType.CLIENT_RESOURCES, new Identifier(getModid(), "lang/" + locale + ".json"), () -> langTable.toJson(locale));
 			}
 			
+			// Each tag is emitted once, with entries added through getOrCreateTag kept first
+			for (Entry<Identifier, Set<Identifier>> entry : tagEntries.entrySet()) {
+				JTag tag = tags.computeIfAbsent(entry.getKey(), $ -> JTag.tag());
+				entry.getValue().forEach(tag::add);
+			}
 			for (Entry<Identifier, JTag> entry : tags.entrySet()) {
 				getResourcePack().addTag(entry.getKey(), entry.getValue());
 			}
@@ -157,7 +234,7 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 				RegistrARRP.LOGGER.info("Development environment detected. Dumping generated resources to the game directory: [" +
 						FabricLoader.getInstance().getGameDir().toString().split("\\.")
 								[FabricLoader.getInstance().getGameDir().toString().split("\\.").length - 1] + "registrarrp_asset_dump].");
-				getResourcePack().dump(Paths.get(FabricLoader.getInstance().getGameDir().toString() + "/registrarrp_asset_dump"));
+				ResourcePackDumper.dumpAsync(indexedResourcePack, FabricLoader.getInstance().getGameDir().resolve("registrarrp_asset_dump"), dumpFormat);
 			}
 		}
 	}
@@ -166,6 +243,71 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		return resourcePack;
 	}
 	
+	/**
+	 * @return The indexed view of {@link #getResourcePack()} which is handed to the game
+	 */
+	public IndexedResourcePack getIndexedResourcePack() {
+		return indexedResourcePack;
+	}
+	
+	/**
+	 * Adds a resource which is only generated when the game first reads it, such as a model, which a dedicated server never reads.
+	 *
+	 * @param type      The type of the resource
+	 * @param path      The full path of the resource, such as "mymod:models/block/my_block.json"
+	 * @param generator A generator for the contents of the resource
+	 */
+	public void addGeneratedResource(ResourceType type, Identifier path, NonNullSupplier<byte[]> generator) {
+		if (doDatagen) {
+			indexedResourcePack.addGenerated(type, path, generator);
+		}
+	}
+	
+	/**
+	 * Adds a model. On the client, models which no blockstate or item model refers to are left out at {@link #register()}, see {@link GeneratedModels}.
+	 *
+	 * @param id    The Identifier of the model, such as "mymod:block/my_block"
+	 * @param model The model to add
+	 */
+	public void addModel(Identifier id, JModel model) {
+		if (doDatagen) {
+			generatedModels.addModel(id, model);
+		}
+	}
+	
+	/**
+	 * Adds a blockstate.
+	 *
+	 * @param id    The Identifier of the blockstate, such as "mymod:my_block"
+	 * @param state The blockstate to add
+	 */
+	public void addBlockState(Identifier id, JState state) {
+		if (doDatagen) {
+			generatedModels.addBlockState(id, state);
+		}
+	}
+	
+	/**
+	 * Adds a texture which is generated from other textures at runtime, see {@link DerivedTexture}.
+	 *
+	 * @param id      The Identifier of the texture, such as "mymod:block/red_planks"
+	 * @param texture The texture to generate
+	 * @return The Identifier of the texture, for use in models
+	 */
+	public Identifier addDerivedTexture(Identifier id, DerivedTexture texture) {
+		if (doDatagen) {
+			derivedTextures.add(id, texture);
+		}
+		return id;
+	}
+	
+	/**
+	 * Gets a {@link JLang} whose entries are added to the generated lang file at {@link #register()}. Prefer {@link #addLangEntry(AbstractBuilder, String, String, String)},
+	 * which stores entries more compactly.
+	 *
+	 * @param lang The locale, such as "en_us"
+	 * @return The {@link JLang} for the locale
+	 */
 	public JLang getOrCreateLang(String lang) {
 		if (!langs.containsKey(lang)) {
 			langs.put(lang, new JLang());
@@ -174,18 +316,87 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	}
 	
 	public void addLangEntry(AbstractBuilder<?, ?, ?, ?> builder, String lang, String key, String name) {
-		if (!getOrCreateLang(lang).getLang().containsKey(key)) {
-			getOrCreateLang(lang).entry(key, name);
+		if (langTable.put(lang, key, name)) {
 			return;
 		}
 		RegistrARRP.LOGGER.warn(String.format("lang for {%s} already registered: [%s], [%s], [%s]", builder.toString(), lang, key, name));
 	}
 	
+	/**
+	 * Adds a recipe to the generated data.
+	 * <p>
+	 * The recipe's id is derived from its name and a hash of its contents, such as "mymod:my_block_shaped_1a2b3c4d", so it is the same on every launch regardless
+	 * of registration order. Adding an identical recipe under the same name again has no effect.
+	 *
+	 * @param recipeName The name of the recipe, such as "my_block_shaped"
+	 * @param recipe     The recipe to add
+	 */
 	public void addRecipe(@Nullable String recipeName, JRecipe recipe) {
 		if (doDatagen) {
-			Identifier idToUse = new Identifier(getModid(), recipeName == null ? "unknown_recipe" : recipeName + recipes);
-			recipes++;
-			getResourcePack().addRecipe(idToUse, recipe);
+			byte[] data = RuntimeResourcePackImpl.serialize(recipe);
+			HashCode hash = RECIPE_HASH.hashBytes(data);
+			String name = (recipeName == null ? "recipe" : recipeName) + "_" + hash.toString().substring(0, 8);
+			Identifier id = new Identifier(getModid(), name);
+			// Shortened hashes can collide, so fall back to numbered ids, in the order the recipes were added
+			for (int i = 2; recipeHashes.containsKey(id); i++) {
+				if (recipeHashes.get(id).equals(hash)) {
+					return;
+				}
+				id = new Identifier(getModid(), name + "_" + i);
+			}
+			recipeHashes.put(id, hash);
+			recipeIndex.add(id, data);
+			addData(PrebuiltData.RECIPES, id, data, null);
+		}
+	}
+	
+	/**
+	 * Begin a batch of recipes, which are added together once {@link RecipeBatch#register()} is called.
+	 *
+	 * @return A new {@link RecipeBatch}
+	 */
+	public RecipeBatch recipes() {
+		return new RecipeBatch(this);
+	}
+	
+	/**
+	 * @return An index of every recipe added to this registrate, by output, input and type. Complete once {@link #register()} has been called.
+	 */
+	public RecipeIndex getRecipeIndex() {
+		return recipeIndex;
+	}
+	
+	/**
+	 * Adds a loot table to the generated data.
+	 *
+	 * @param id    The Identifier of the loot table, such as "mymod:blocks/my_block"
+	 * @param table The loot table to add
+	 */
+	public void addLootTable(Identifier id, JLootTable table) {
+		if (doDatagen) {
+			addData(PrebuiltData.LOOT_TABLES, id, RuntimeResourcePackImpl.serialize(table), null);
+		}
+	}
+	
+	/**
+	 * Adds a loot table to the generated data from a template.
+	 *
+	 * @param id       The Identifier of the loot table, such as "mymod:blocks/my_block"
+	 * @param template The template to fill in
+	 * @param entry    The Identifier of the entry the table is for, such as "mymod:my_block"
+	 */
+	public void addLootTable(Identifier id, LootTableTemplate template, Identifier entry) {
+		if (doDatagen) {
+			addData(PrebuiltData.LOOT_TABLES, id, template.apply(entry), null);
+		}
+	}
+	
+	private void addData(String dataType, Identifier id, byte[] data, @Nullable JsonElement json) {
+		Identifier path = new Identifier(id.getNamespace(), dataType + "/" + id.getPath() + ".json");
+		getResourcePack().addData(path, data);
+		if (prebuiltData) {
+			indexedResourcePack.getPrebuiltData().put(dataType, id, json == null ? PrebuiltData.parse(data) : json);
+			indexedResourcePack.hideFromListing(ResourceType.SERVER_DATA, path);
 		}
 	}
 	
@@ -197,17 +408,11 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	 * @param id  The Identifier of the entry to add to the tag
 	 */
 	public void addToTag(Tag.Identified<?> tag, Identifier id) {
-		Identifier tagID;
-		if (BlockTags.getRequiredTags().contains(tag)) {
-			tagID = new Identifier("minecraft", "blocks/" + tag.getId().getPath());
-		} else if (ItemTags.getRequiredTags().contains(tag)) {
-			tagID = new Identifier("minecraft", "items/" + tag.getId().getPath());
-		} else if (FluidTags.getRequiredTags().contains(tag)) {
-			tagID = new Identifier("minecraft", "fluids/" + tag.getId().getPath());
-		} else {
+		Identifier tagID = requiredTags.getPath(tag);
+		if (tagID == null) {
 			throw new IllegalStateException("non-minecraft tag fed into AbstractRegistrate#addToTag! See the javadoc on usage!");
 		}
-		getOrCreateTag(tagID).add(id);
+		addToTag(tagID, id);
 	}
 	
 	/**
@@ -217,7 +422,25 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	 * @param entryID The Identifier for the entry being added to the tag
 	 */
 	public void addToTag(Identifier tagID, Identifier entryID) {
-		getOrCreateTag(tagID).add(entryID);
+		tagEntries.computeIfAbsent(tagID, $ -> new LinkedHashSet<>()).add(entryID);
+	}
+	
+	/**
+	 * @param tagID Full Identifier of the tag, such as "minecraft:blocks/walls"
+	 * @return The entries added to the given tag through {@link #addToTag(Identifier, Identifier)}, in the order they were added
+	 */
+	public Set<Identifier> getTagEntries(Identifier tagID) {
+		return Collections.unmodifiableSet(tagEntries.getOrDefault(tagID, Collections.emptySet()));
+	}
+	
+	/**
+	 * @param registry The registry of the tag's entries, such as {@link Registry#BLOCK}
+	 * @param tagID    Full Identifier of the tag, such as "minecraft:blocks/walls"
+	 * @return A {@link RegistryEntrySet} of the entries added to the given tag through {@link #addToTag(Identifier, Identifier)}, which must all have been added by
+	 * the time this is called
+	 */
+	public <R> RegistryEntrySet<R> getTagSet(Registry<R> registry, Identifier tagID) {
+		return RegistryEntrySet.ofIds(registry, tagEntries.getOrDefault(tagID, Collections.emptySet()));
 	}
 	
 	/**
@@ -244,6 +467,55 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		doDatagen = value;
 	}
 	
+	/**
+	 * Set the format generated resources are dumped in when running in a development environment. Defaults to loose files.
+	 * <p>
+	 * {@link ResourcePackDumper.Format#ZIP} writes a single uncompressed zip, containing a {@code pack.mcmeta}, which can be shipped as-is as a regular pack.
+	 *
+	 * @param format The format to dump in
+	 * @return this {@link AbstractRegistrate}
+	 */
+	public S dumpFormat(ResourcePackDumper.Format format) {
+		this.dumpFormat = format;
+		return self();
+	}
+	
+	/**
+	 * Hand generated recipes and loot tables to the game as already-parsed JSON, rather than having them read and parsed from the generated pack on every data
+	 * reload. Off by default.
+	 * <p>
+	 * The files are still generated, so dumps are unaffected. Data from other packs still overrides generated data, as usual. Other generated data, such as
+	 * tags, is always loaded from the pack.
+	 *
+	 * @param value Whether prebuilt data should be used. Must be set before any recipes or loot tables are added.
+	 * @return this {@link AbstractRegistrate}
+	 */
+	public S prebuiltData(boolean value) {
+		this.prebuiltData = value;
+		return self();
+	}
+	
+	/**
+	 * Register blocks and items declared in a definition file in this mod's jar, such as "data/mymod/registrarrp/blocks.json". See {@link DefinitionReader} for
+	 * the format.
+	 * <p>
+	 * The file is read as a stream, and each definition is registered as soon as it has been read, so even very large files are cheap to load.
+	 *
+	 * @param path The path of the file, relative to the root of this mod's jar
+	 * @return this {@link AbstractRegistrate}
+	 */
+	public S definitions(String path) {
+		ModContainer mod = FabricLoader.getInstance().getModContainer(getModid())
+				.orElseThrow(() -> new IllegalStateException("No mod found for mod ID " + getModid()));
+		try (JsonReader reader = new JsonReader(Files.newBufferedReader(mod.getPath(path), StandardCharsets.UTF_8))) {
+			int count = DefinitionReader.read(this, reader);
+			log.debug(DebugMarkers.REGISTER, "Read {} definition(s) from {}", count, path);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not read definition file " + path + " of mod " + getModid(), e);
+		}
+		return self();
+	}
+	
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	protected void onRegister(Registry<?> registry) {
 		Class<?> type = RegistryUtil.getRegistrationClass(registry);
@@ -280,6 +552,9 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	
 	protected void onRegisterLate(Registry<?> registry) {
 		Class<?> type = RegistryUtil.getRegistrationClass(registry);
+		for (EntryAttachment<?, ?> attachment : attachments.removeAll(type)) {
+			allocate(attachment, type);
+		}
 		Collection<Runnable> callbacks = afterRegisterCallbacks.get(type);
 		callbacks.forEach(Runnable::run);
 		callbacks.clear();
@@ -357,6 +632,18 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		return reg == null ? RegistryEntry.empty() : reg.getDelegate();
 	}
 	
+	/**
+	 * Find the entry of an object registered by this registrate.
+	 *
+	 * @param <T>    The type of the object
+	 * @param object The registered object, such as a block
+	 * @return The {@link RegistryEntry} of the object, or {@link Optional#empty()} if it was not registered by this registrate, or not registered yet
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Optional<RegistryEntry<T>> getEntry(T object) {
+		return Optional.ofNullable((RegistryEntry<T>) entriesByObject.get(object));
+	}
+	
 	@SuppressWarnings("unchecked")
 	@Nullable
 	private <R, T extends R> Registration<R, T> getRegistrationUnchecked(String name, Class<? super R> type) {
@@ -377,10 +664,23 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 	 * @param <R>  The type of the registry for which to retrieve the entries
 	 * @param type A class representing the registry type
 	 * @return A {@link Collection} of {@link RegistryEntry RegistryEntries} representing all known registered entries of the given type.
+	 * @see #getAllIndexed(Class)
 	 */
-	@SuppressWarnings("unchecked")
 	public <R> Collection<RegistryEntry<R>> getAll(Class<? super R> type) {
-		return registrations.column(type).values().stream().map(r -> (RegistryEntry<R>) r.getDelegate()).collect(Collectors.toList());
+		return this.<R>getAllIndexed(type);
+	}
+	
+	/**
+	 * Get all registered entries of a given registry type as an indexed list, for walking the entries without allocating.
+	 *
+	 * @param <R>  The type of the registry for which to retrieve the entries
+	 * @param type A class representing the registry type
+	 * @return An immutable {@link RegistryEntryList} of all known registered entries of the given type, in the order of {@link RegistryEntry#getIndex()}. The
+	 * same list is returned until another entry of the type is registered.
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> RegistryEntryList<R> getAllIndexed(Class<? super R> type) {
+		return (RegistryEntryList<R>) entryLists.computeIfAbsent(type, $ -> new RegistryEntryList<>((List<RegistryEntry<R>>) (List<?>) entriesByIndex.getOrDefault(type, Collections.emptyList())));
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -399,6 +699,31 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		return self();
 	}
 	
+	/**
+	 * Create a store for per-entry data of the given registry type, which holds its values in arrays indexed by entry. The arrays are allocated as soon as
+	 * every entry of the type has been registered.
+	 *
+	 * @param <R>          The type of the registry
+	 * @param <V>          The type of the values
+	 * @param registryType A class representing the registry type
+	 * @return A new {@link EntryAttachment}
+	 */
+	@SuppressWarnings("unchecked")
+	public <R, V> EntryAttachment<R, V> attachment(Class<? super R> registryType) {
+		EntryAttachment<R, V> ret = new EntryAttachment<>((Registry<R>) RegistryUtil.getRegistry(registryType));
+		if (isRegistered(registryType)) {
+			allocate(ret, registryType);
+		} else {
+			attachments.put(registryType, ret);
+		}
+		return ret;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <R> void allocate(EntryAttachment<R, ?> attachment, Class<?> type) {
+		attachment.allocate(this.<R>getAllIndexed((Class<? super R>) type));
+	}
+	
 	public <R> boolean isRegistered(Class<? super R> registryType) {
 		return completedRegistrations.contains(registryType);
 	}
@@ -540,7 +865,21 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 			NonNullConsumer<? super T> unsafeCallback = (NonNullConsumer<? super T>) callback;
 			reg.addRegisterCallback(unsafeCallback);
 		});
+		Registration<?, ?> old = registrations.get(name, type);
+		List<RegistryEntry<?>> indexed = entriesByIndex.computeIfAbsent(type, $ -> new ArrayList<>());
+		if (old == null) {
+			reg.getDelegate().setIndex(indexed.size());
+			indexed.add(reg.getDelegate());
+		} else {
+			// Replacing a registration keeps its index
+			reg.getDelegate().setIndex(old.getDelegate().getIndex());
+			indexed.set(old.getDelegate().getIndex(), reg.getDelegate());
+		}
 		registrations.put(name, type, reg);
+		entryLists.remove(type);
+		Map<Class<?>, RegistryEntry<?>> siblings = this.siblings.computeIfAbsent(name, $ -> new IdentityHashMap<>());
+		siblings.put(type, reg.getDelegate());
+		reg.getDelegate().setSiblings(siblings);
 		return reg.getDelegate();
 	}
 	
@@ -808,24 +1147,67 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 		return this.modid;
 	}
 	
+	/**
+	 * Identity map of the required tags to their paths in a data pack. Held per registrate, like the rest of its state, so it needs no locking. Mods may add
+	 * required tags at any time, so a lookup that misses refreshes the map if the lists have grown since it was built.
+	 */
+	private static final class RequiredTags {
+		private final Map<Tag.Identified<?>, Identifier> paths = new IdentityHashMap<>();
+		private int count = -1;
+		
+		@Nullable
+		Identifier getPath(Tag.Identified<?> tag) {
+			Identifier ret = paths.get(tag);
+			if (ret == null && update()) {
+				ret = paths.get(tag);
+			}
+			return ret;
+		}
+		
+		// The lists only ever grow, so their total size tells whether anything was added
+		private boolean update() {
+			List<? extends Tag.Identified<?>> blocks = BlockTags.getRequiredTags();
+			List<? extends Tag.Identified<?>> items = ItemTags.getRequiredTags();
+			List<? extends Tag.Identified<?>> fluids = FluidTags.getRequiredTags();
+			int count = blocks.size() + items.size() + fluids.size();
+			if (count == this.count) {
+				return false;
+			}
+			this.count = count;
+			add(blocks, "blocks/");
+			add(items, "items/");
+			add(fluids, "fluids/");
+			return true;
+		}
+		
+		private void add(List<? extends Tag.Identified<?>> tags, String directory) {
+			for (Tag.Identified<?> tag : tags) {
+				paths.computeIfAbsent(tag, $ -> new Identifier("minecraft", directory + tag.getId().getPath()));
+			}
+		}
+	}
+	
 	private final class Registration<R, T extends R> {
 		private final Identifier name;
 		private final Class<? super R> type;
 		private final NonNullLazyValue<? extends T> creator;
 		private final RegistryEntry<T> delegate;
 		private final List<NonNullConsumer<? super T>> callbacks = new ArrayList<>();
+		private final int hash;
 		
 		Registration(Identifier name, Class<? super R> type, NonNullSupplier<? extends T> creator, NonNullFunction<RegistryObject<T>, ? extends RegistryEntry<T>> entryFactory) {
 			this.name = name;
 			this.type = type;
 			this.creator = new NonNullLazyValue<>(creator);
 			this.delegate = entryFactory.apply(RegistryObject.of(name, type));
+			this.hash = 31 * name.hashCode() + type.hashCode();
 		}
 		
 		void register(Registry<R> registry) {
 			T entry = creator.get();
 			Registry.register(registry, name, entry);
 			delegate.updateReference(registry);
+			entriesByObject.put(entry, delegate);
 			callbacks.forEach(c -> c.accept(entry));
 			callbacks.clear();
 		}
@@ -855,47 +1237,18 @@ public abstract class AbstractRegistrate<S extends AbstractRegistrate<S>> {
 			return this.delegate;
 		}
 		
+		// A registration is identified by its name and type alone, never by its creator or callbacks
 		@Override
-		@javax.annotation.Generated("lombok")
 		public boolean equals(final Object o) {
 			if (o == this) return true;
 			if (!(o instanceof AbstractRegistrate.Registration)) return false;
 			final AbstractRegistrate<?>.Registration<?, ?> other = (AbstractRegistrate<?>.Registration<?, ?>) o;
-			final Object this$name = this.getName();
-			final Object other$name = other.getName();
-			if (this$name == null ? other$name != null : !this$name.equals(other$name)) return false;
-			final Object this$type = this.getType();
-			final Object other$type = other.getType();
-			if (this$type == null ? other$type != null : !this$type.equals(other$type)) return false;
-			final Object this$creator = this.getCreator();
-			final Object other$creator = other.getCreator();
-			if (this$creator == null ? other$creator != null : !this$creator.equals(other$creator)) return false;
-			final Object this$delegate = this.getDelegate();
-			final Object other$delegate = other.getDelegate();
-			if (this$delegate == null ? other$delegate != null : !this$delegate.equals(other$delegate)) return false;
-			final Object this$callbacks = this.callbacks;
-			final Object other$callbacks = other.callbacks;
-			if (this$callbacks == null ? other$callbacks != null : !this$callbacks.equals(other$callbacks))
-				return false;
-			return true;
+			return hash == other.hash && type == other.type && name.equals(other.name);
 		}
 		
 		@Override
-		@javax.annotation.Generated("lombok")
 		public int hashCode() {
-			final int PRIME = 59;
-			int result = 1;
-			final Object $name = this.getName();
-			result = result * PRIME + ($name == null ? 43 : $name.hashCode());
-			final Object $type = this.getType();
-			result = result * PRIME + ($type == null ? 43 : $type.hashCode());
-			final Object $creator = this.getCreator();
-			result = result * PRIME + ($creator == null ? 43 : $creator.hashCode());
-			final Object $delegate = this.getDelegate();
-			result = result * PRIME + ($delegate == null ? 43 : $delegate.hashCode());
-			final Object $callbacks = this.callbacks;
-			result = result * PRIME + ($callbacks == null ? 43 : $callbacks.hashCode());
-			return result;
+			return hash;
 		}
 		
 		@Override
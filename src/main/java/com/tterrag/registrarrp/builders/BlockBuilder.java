@@ -4,9 +4,14 @@ import com.google.common.base.Preconditions;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.DerivedTexture;
 import com.tterrag.registrarrp.fabric.EnvExecutor;
+import com.tterrag.registrarrp.fabric.LootTableTemplate;
 import com.tterrag.registrarrp.fabric.RegistryObject;
-import com.tterrag.registrarrp.mixin.AbstractBlock$SettingsAccessor;
+import com.tterrag.registrarrp.fabric.SimpleButtonBlock;
+import com.tterrag.registrarrp.fabric.SimplePressurePlateBlock;
+import com.tterrag.registrarrp.fabric.SimpleStairsBlock;
+import com.tterrag.registrarrp.util.BlockFamilyTypes;
 import com.tterrag.registrarrp.util.CommonLootTableTypes;
 import com.tterrag.registrarrp.util.RecipeTypes;
 import com.tterrag.registrarrp.util.entry.BlockEntry;
@@ -15,7 +20,9 @@ import com.tterrag.registrarrp.util.nullness.NonNullBiFunction;
 import com.tterrag.registrarrp.util.nullness.NonNullFunction;
 import com.tterrag.registrarrp.util.nullness.NonNullSupplier;
 import com.tterrag.registrarrp.util.nullness.NonNullUnaryOperator;
+import net.devtech.arrp.json.blockstate.JBlockModel;
 import net.devtech.arrp.json.blockstate.JState;
+import net.devtech.arrp.json.blockstate.JVariant;
 import net.devtech.arrp.json.loot.JLootTable;
 import net.devtech.arrp.json.models.JModel;
 import net.devtech.arrp.json.models.JTextures;
@@ -27,15 +34,21 @@ import net.fabricmc.fabric.api.item.v1.FabricItemSettings;
 import net.fabricmc.fabric.api.object.builder.v1.block.FabricBlockSettings;
 import net.minecraft.block.AbstractBlock;
 import net.minecraft.block.Block;
+import net.minecraft.block.FenceBlock;
 import net.minecraft.block.Material;
 import net.minecraft.block.MaterialColor;
+import net.minecraft.block.PressurePlateBlock;
+import net.minecraft.block.SlabBlock;
+import net.minecraft.block.WallBlock;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.client.color.block.BlockColorProvider;
 import net.minecraft.client.render.RenderLayer;
 import net.minecraft.item.BlockItem;
 import net.minecraft.item.Item;
+import net.minecraft.item.Items;
 import net.minecraft.loot.LootTables;
+import net.minecraft.tag.BlockTags;
 import net.minecraft.util.DyeColor;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Pair;
@@ -43,9 +56,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import static net.devtech.arrp.json.loot.JLootTable.predicate;
@@ -66,8 +84,13 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	private NonNullSupplier<Supplier<BlockColorProvider>> colorHandler;
 	@Nullable
 	private JLootTable lootTable;
+	@Nullable
+	private LootTableTemplate lootTemplate;
 	private Pair<Identifier, JState> blockState;
 	private final Map<Identifier, JModel> models = new HashMap<>();
+	private final Set<BlockFamilyTypes> family = EnumSet.noneOf(BlockFamilyTypes.class);
+	@Nullable
+	private Identifier familyTexture;
 	private final boolean wall = false;
 	
 	protected BlockBuilder(AbstractRegistrate<?> owner, P parent, String name, BuilderCallback callback, NonNullFunction<FabricBlockSettings, T> factory, NonNullSupplier<FabricBlockSettings> initialProperties) {
@@ -127,6 +150,41 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 		return property;
 	}
 	
+	// Serialized on first use, then shared by every block
+	private static final class LootTemplates {
+		private static final LootTableTemplate DEFAULT = LootTableTemplate.of(id -> JLootTable.loot("minecraft:block")
+				.pool(JLootTable.pool()
+						.rolls(1)
+						.entry(JLootTable.entry()
+								.type("minecraft:item")
+								.name(id))
+						.condition(JLootTable.predicate("minecraft:survives_explosion"))));
+		
+		// credit to https://github.com/Azagwen/ATBYW/ for these 2
+		private static final LootTableTemplate SLAB = LootTableTemplate.of(id -> JLootTable.loot("minecraft:block")
+				.pool(JLootTable.pool()
+						.rolls(1)
+						.entry(JLootTable.entry()
+								.type("minecraft:item")
+								.function(JLootTable.function("minecraft:set_count")
+										.condition(predicate("minecraft:block_state_property")
+												.parameter("block", id)
+												.parameter("properties", blockStringProperty("type", "double")))
+										.parameter("count", 2))
+								.function("minecraft:explosion_decay")
+								.name(id))
+						.condition(predicate("minecraft:survives_explosion"))));
+		
+		private static final LootTableTemplate SILK_TOUCH_REQUIRED = LootTableTemplate.of(id -> JLootTable.loot("minecraft:block")
+				.pool(JLootTable.pool()
+						.rolls(1)
+						.entry(JLootTable.entry()
+								.type("minecraft:item")
+								.name(id))
+						.condition(JLootTable.predicate("minecraft:match_tool")
+								.parameter("predicate", silkTouchPredicate()))));
+	}
+	
 	/**
 	 * Modify the properties of the block. Modifications are done lazily, but the passed function is composed with the current one, and as such this method can be called multiple times to perform
 	 * different operations.
@@ -353,6 +411,16 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 				JState.state().add(JState.variant(JState.model(new Identifier(getOwner().getModid(), "block/" + getName())))));
 	}
 	
+	/**
+	 * Give this block a simple cube model with a texture generated at runtime, such as a tinted copy of another texture. The texture is named after this block.
+	 *
+	 * @param texture The texture to generate
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> cubeModel(DerivedTexture texture) {
+		return cubeModel(getOwner().addDerivedTexture(new Identifier(getOwner().getModid(), "block/" + getName()), texture));
+	}
+	
 	/**
 	 * Give this block a simple pillar model with two textures.
 	 *
@@ -514,6 +582,83 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 				.add(JState.multipart().addModel(JState.model(sideID).y(270).uvlock()).when(JState.when().add("west", "true"))));
 	}
 	
+	/**
+	 * Give this block a simple slab model with one texture.
+	 *
+	 * @param texture     The Identifier for the texture for the block
+	 * @param doubleModel The Identifier for the model of a double slab, which is typically the model of the full block, such as "minecraft:block/stone"
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> slabModel(Identifier texture, Identifier doubleModel) {
+		models.clear();
+		JTextures textures = JModel.textures()
+				.var("bottom", texture.toString())
+				.var("top", texture.toString())
+				.var("side", texture.toString());
+		JModel bottom = JModel.model().parent("minecraft:block/slab").textures(textures);
+		JModel top = JModel.model().parent("minecraft:block/slab_top").textures(textures);
+		Identifier bottomID = new Identifier(getOwner().getModid(), "block/" + getName());
+		Identifier topID = new Identifier(getOwner().getModid(), "block/" + getName() + "_top");
+		models.put(bottomID, bottom);
+		models.put(topID, top);
+		return blockstate(getIdentifier(), JState.state().add(JState.variant()
+				.put("type", "bottom", JState.model(bottomID))
+				.put("type", "top", JState.model(topID))
+				.put("type", "double", JState.model(doubleModel))));
+	}
+	
+	/**
+	 * Give this block a simple button model with one texture.
+	 *
+	 * @param texture The Identifier for the texture for the block
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> buttonModel(Identifier texture) {
+		models.clear();
+		JTextures textures = JModel.textures().var("texture", texture.toString());
+		Identifier buttonID = new Identifier(getOwner().getModid(), "block/" + getName());
+		Identifier pressedID = new Identifier(getOwner().getModid(), "block/" + getName() + "_pressed");
+		models.put(buttonID, JModel.model().parent("minecraft:block/button").textures(textures));
+		models.put(pressedID, JModel.model().parent("minecraft:block/button_pressed").textures(textures));
+		models.put(new Identifier(getOwner().getModid(), "item/" + getName()), JModel.model().parent("minecraft:block/button_inventory").textures(textures));
+		JVariant variant = JState.variant();
+		String[] facings = {"north", "east", "south", "west"};
+		for (String face : new String[]{"floor", "wall", "ceiling"}) {
+			for (int i = 0; i < facings.length; i++) {
+				for (boolean powered : new boolean[]{false, true}) {
+					JBlockModel model = JState.model(powered ? pressedID : buttonID);
+					if (face.equals("floor")) {
+						model.y(i * 90);
+					} else if (face.equals("wall")) {
+						model.x(90).y(i * 90).uvlock();
+					} else {
+						model.x(180).y((i * 90 + 180) % 360);
+					}
+					variant.put("face=" + face + ",facing=" + facings[i] + ",powered=" + powered, model);
+				}
+			}
+		}
+		return blockstate(getIdentifier(), JState.state().add(variant));
+	}
+	
+	/**
+	 * Give this block a simple pressure plate model with one texture.
+	 *
+	 * @param texture The Identifier for the texture for the block
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> pressurePlateModel(Identifier texture) {
+		models.clear();
+		JTextures textures = JModel.textures().var("texture", texture.toString());
+		Identifier upID = new Identifier(getOwner().getModid(), "block/" + getName());
+		Identifier downID = new Identifier(getOwner().getModid(), "block/" + getName() + "_down");
+		models.put(upID, JModel.model().parent("minecraft:block/pressure_plate_up").textures(textures));
+		models.put(downID, JModel.model().parent("minecraft:block/pressure_plate_down").textures(textures));
+		return blockstate(getIdentifier(), JState.state().add(JState.variant()
+				.put("powered", "false", JState.model(upID))
+				.put("powered", "true", JState.model(downID))));
+	}
+	
 	/**
 	 * Configure the blockstate/models for this block.
 	 *
@@ -532,13 +677,7 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	 * @return this {@link BlockBuilder}
 	 */
 	public BlockBuilder<T, P> defaultLoot() {
-		return loot(JLootTable.loot("minecraft:block")
-				.pool(JLootTable.pool()
-						.rolls(1)
-						.entry(JLootTable.entry()
-								.type("minecraft:item")
-								.name(getIdentifierString()))
-						.condition(JLootTable.predicate("minecraft:survives_explosion"))));
+		return loot(LootTemplates.DEFAULT);
 	}
 	
 	/**
@@ -552,32 +691,12 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 			return this;
 		}
 		
-		// credit to https://github.com/Azagwen/ATBYW/ for these 2
 		if (type == CommonLootTableTypes.SLAB) {
-			return loot(JLootTable.loot("minecraft:block")
-					.pool(JLootTable.pool()
-							.rolls(1)
-							.entry(JLootTable.entry()
-									.type("minecraft:item")
-									.function(JLootTable.function("minecraft:set_count")
-											.condition(predicate("minecraft:block_state_property")
-													.parameter("block", getIdentifierString())
-													.parameter("properties", blockStringProperty("type", "double")))
-											.parameter("count", 2))
-									.function("minecraft:explosion_decay")
-									.name(getIdentifierString()))
-							.condition(predicate("minecraft:survives_explosion"))));
+			return loot(LootTemplates.SLAB);
 		}
 		
 		if (type == CommonLootTableTypes.SILK_TOUCH_REQUIRED) {
-			return loot(JLootTable.loot("minecraft:block")
-					.pool(JLootTable.pool()
-							.rolls(1)
-							.entry(JLootTable.entry()
-									.type("minecraft:item")
-									.name(getIdentifierString()))
-							.condition(JLootTable.predicate("minecraft:match_tool")
-									.parameter("predicate", silkTouchPredicate()))));
+			return loot(LootTemplates.SILK_TOUCH_REQUIRED);
 		}
 		
 		throw new RuntimeException("Attempted to use a CommonLootTableTypes with no behavior, report this as an issue!");
@@ -593,9 +712,130 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	 */
 	public BlockBuilder<T, P> loot(JLootTable table) {
 		lootTable = table;
+		lootTemplate = null;
+		return this;
+	}
+	
+	/**
+	 * Configure the loot table for this block from a template, which is filled in with this block's id. Templates can be shared between any number of blocks,
+	 * and are only serialized once.
+	 * <p>
+	 * If the block does not have a loot table (i.e. {@link FabricBlockSettings#dropsNothing()} is called) this action will be <em>skipped</em>.
+	 *
+	 * @param template The loot table template for this block
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> loot(LootTableTemplate template) {
+		lootTemplate = template;
+		lootTable = null;
+		return this;
+	}
+	
+	// ------- FAMILIES -------
+	
+	/**
+	 * Derive a family of blocks from this block, which share its texture and properties, such as stairs and slabs. Each block is named after this one, such as
+	 * "my_block_stairs", and gets models, a blockstate, an item, the usual vanilla tags, loot and a crafting recipe made from this block.
+	 * <p>
+	 * The family is registered along with this block. The texture is assumed to be named after this block. Buttons and pressure plates of a wooden block
+	 * behave like vanilla's wooden ones, and those of any other block like stone ones.
+	 *
+	 * @param types The blocks to derive
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> family(BlockFamilyTypes... types) {
+		return family(new Identifier(getOwner().getModid(), "block/" + getName()), types);
+	}
+	
+	/**
+	 * Derive a family of blocks from this block, see {@link #family(BlockFamilyTypes...)}.
+	 *
+	 * @param texture The Identifier for the texture shared by the family
+	 * @param types   The blocks to derive
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> family(Identifier texture, BlockFamilyTypes... types) {
+		familyTexture = texture;
+		Collections.addAll(family, types);
 		return this;
 	}
 	
+	private void registerFamily(BlockEntry<T> base) {
+		Identifier texture = Objects.requireNonNull(familyTexture);
+		for (BlockFamilyTypes type : family) {
+			String name = getName() + "_" + type.name().toLowerCase(Locale.ROOT);
+			switch (type) {
+				case STAIRS:
+					familyRecipe(getOwner().block(getParent(), name, p -> new SimpleStairsBlock(base.getDefaultState(), p))
+							.initialProperties(base)
+							.stairsModel(texture)
+							.tag(BlockTags.STAIRS), 4, "X  ", "XX ", "XXX")
+							.simpleItem()
+							.register();
+					break;
+				case SLAB:
+					familyRecipe(getOwner().block(getParent(), name, SlabBlock::new)
+							.initialProperties(base)
+							.slabModel(texture, new Identifier(getOwner().getModid(), "block/" + getName()))
+							.simpleLoot(CommonLootTableTypes.SLAB)
+							.tag(BlockTags.SLABS), 6, "XXX")
+							.simpleItem()
+							.register();
+					break;
+				case WALL:
+					familyRecipe(getOwner().block(getParent(), name, WallBlock::new)
+							.initialProperties(base)
+							.wallModel(texture)
+							.tag(BlockTags.WALLS), 6, "XXX", "XXX")
+							.simpleItem()
+							.register();
+					break;
+				case FENCE:
+					familyRecipe(getOwner().block(getParent(), name, FenceBlock::new)
+							.initialProperties(base)
+							.fenceModel(texture)
+							.tag(BlockTags.FENCES), 3, "X#X", "X#X")
+							.simpleItem()
+							.register();
+					break;
+				case BUTTON:
+					BlockBuilder<SimpleButtonBlock, P> button = getOwner().block(getParent(), name, p -> new SimpleButtonBlock(isWooden(base.get()), p))
+							.initialProperties(base)
+							.properties(p -> p.noCollision().strength(0.5F))
+							.buttonModel(texture)
+							.tag(BlockTags.BUTTONS);
+					button.recipe("shapeless", JRecipe.shapeless(JIngredients.ingredients().add(JIngredient.ingredient().item(getIdentifierString())), JResult.stackedResult(button.getIdentifierString(), 1)))
+							.simpleItem()
+							.register();
+					break;
+				case PRESSURE_PLATE:
+					familyRecipe(getOwner().block(getParent(), name, p -> new SimplePressurePlateBlock(isWooden(base.get()) ? PressurePlateBlock.ActivationRule.EVERYTHING : PressurePlateBlock.ActivationRule.MOBS, p))
+							.initialProperties(base)
+							.properties(p -> p.noCollision().strength(0.5F))
+							.pressurePlateModel(texture)
+							.tag(BlockTags.PRESSURE_PLATES), 1, "XX")
+							.simpleItem()
+							.register();
+					break;
+			}
+		}
+	}
+	
+	// Wooden buttons and pressure plates behave like vanilla's: longer presses, pressed by arrows and items. Family members are created after the base block.
+	private static boolean isWooden(Block base) {
+		Material material = base.getDefaultState().getMaterial();
+		return material == Material.WOOD || material == Material.NETHER_WOOD;
+	}
+	
+	// Shaped recipe for a family member, with X as this block and # as a stick
+	private <B extends Block> BlockBuilder<B, P> familyRecipe(BlockBuilder<B, P> member, int count, String... pattern) {
+		JKeys keys = JKeys.keys().key("X", JIngredient.ingredient().item(getIdentifierString()));
+		if (String.join("", pattern).contains("#")) {
+			keys.key("#", JIngredient.ingredient().item(Items.STICK));
+		}
+		return member.recipe("shaped", JRecipe.shaped(JPattern.pattern(pattern), keys, JResult.stackedResult(member.getIdentifierString(), count)));
+	}
+	
 	// ------- RECIPES -------
 	
 	/**
@@ -619,16 +859,32 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	 * @return this {@link BlockBuilder}
 	 */
 	public BlockBuilder<T, P> recipe(Item input, int outputCount, RecipeTypes type) {
+		return recipe(JIngredient.ingredient().item(input), outputCount, type);
+	}
+	
+	/**
+	 * Create a simple recipe other than Shaped, Unshaped, and Smithing, from an input which need not be registered yet.
+	 *
+	 * @param input       The Identifier of the input item for this recipe, such as "mymod:ruby"
+	 * @param outputCount The number of items in the output stack
+	 * @param type        The type of recipe, such as smelting or blasting.
+	 * @return this {@link BlockBuilder}
+	 */
+	public BlockBuilder<T, P> recipe(Identifier input, int outputCount, RecipeTypes type) {
+		return recipe(JIngredient.ingredient().item(input.toString()), outputCount, type);
+	}
+	
+	private BlockBuilder<T, P> recipe(JIngredient input, int outputCount, RecipeTypes type) {
 		if (type == RecipeTypes.SMELTING)
-			return recipe("smelting", JRecipe.smelting(JIngredient.ingredient().item(input), JResult.stackedResult(getIdentifierString(), outputCount)));
+			return recipe("smelting", JRecipe.smelting(input, JResult.stackedResult(getIdentifierString(), outputCount)));
 		if (type == RecipeTypes.BLASTING)
-			return recipe("blasting", JRecipe.blasting(JIngredient.ingredient().item(input), JResult.stackedResult(getIdentifierString(), outputCount)));
+			return recipe("blasting", JRecipe.blasting(input, JResult.stackedResult(getIdentifierString(), outputCount)));
 		if (type == RecipeTypes.SMOKING)
-			return recipe("smoking", JRecipe.smoking(JIngredient.ingredient().item(input), JResult.stackedResult(getIdentifierString(), outputCount)));
+			return recipe("smoking", JRecipe.smoking(input, JResult.stackedResult(getIdentifierString(), outputCount)));
 		if (type == RecipeTypes.CAMPFIRE)
-			return recipe("campfire", JRecipe.campfire(JIngredient.ingredient().item(input), JResult.stackedResult(getIdentifierString(), outputCount)));
+			return recipe("campfire", JRecipe.campfire(input, JResult.stackedResult(getIdentifierString(), outputCount)));
 		if (type == RecipeTypes.STONECUTTING)
-			return recipe("stonecutting", JRecipe.stonecutting(JIngredient.ingredient().item(input), JResult.stackedResult(getIdentifierString(), outputCount)));
+			return recipe("stonecutting", JRecipe.stonecutting(input, JResult.stackedResult(getIdentifierString(), outputCount)));
 		throw new RuntimeException("Unknown cooking recipe type. Report this!");
 	}
 	
@@ -682,14 +938,14 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	
 	/**
 	 * Configure the recipe(s) for this block.
-	 * If the recipeID is null, one will be generated.
+	 * The recipe's id is generated from this block's name, the recipe type and the recipe's contents.
 	 *
 	 * @param recipeType The name of the added recipe, such as "stonecutting" or "shaped"
 	 * @param recipe     The recipe to add, in the form of a raw {@link JRecipe} object.
 	 * @return this {@link BlockBuilder}
 	 */
 	public BlockBuilder<T, P> recipe(@Nullable String recipeType, JRecipe recipe) {
-		getOwner().addRecipe(getName() + recipeType, recipe);
+		getOwner().addRecipe(recipeType == null ? getName() : getName() + "_" + recipeType, recipe);
 		return this;
 	}
 	
@@ -709,14 +965,29 @@ public class BlockBuilder<T extends Block, P> extends AbstractBuilder<Block, T,
 	public BlockEntry<T> register() {
 		if (getOwner().doDatagen) {
 			for (Map.Entry<Identifier, JModel> entry : models.entrySet()) {
-				getOwner().getResourcePack().addModel(entry.getValue(), entry.getKey());
+				getOwner().addModel(entry.getKey(), entry.getValue());
 			}
-			getOwner().getResourcePack().addBlockState(blockState.getRight(), blockState.getLeft());
-			if ((getParent() instanceof FluidBuilder) || ((AbstractBlock$SettingsAccessor) initialProperties.get()).getLootTableId() == LootTables.EMPTY) {
-				return (BlockEntry<T>) super.register(); // fluid blocks don't get loot tables
+			getOwner().addBlockState(blockState.getLeft(), blockState.getRight());
+			// fluid blocks don't get loot tables
+			if (!(getParent() instanceof FluidBuilder)) {
+				// Decided from the built block, as properties copied from another block are only known once that block exists
+				onRegister(block -> {
+					if (block.getLootTableId() != LootTables.EMPTY) {
+						Identifier lootTableID = new Identifier(getOwner().getModid(), "blocks/" + getName());
+						if (lootTemplate != null) {
+							getOwner().addLootTable(lootTableID, lootTemplate, getIdentifier());
+						} else if (lootTable != null) {
+							getOwner().addLootTable(lootTableID, lootTable);
+						}
+					}
+				});
 			}
-			getOwner().getResourcePack().addLootTable(new Identifier(getOwner().getModid(), "blocks/" + getName()), lootTable);
 		}
-		return (BlockEntry<T>) super.register();
+		BlockEntry<T> entry = (BlockEntry<T>) super.register();
+		// Registered after this block, so that this block exists by the time they are created
+		if (!family.isEmpty()) {
+			registerFamily(entry);
+		}
+		return entry;
 	}
 }
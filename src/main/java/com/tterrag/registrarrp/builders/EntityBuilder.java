@@ -192,7 +192,7 @@ public class EntityBuilder<T extends Entity, B extends FabricEntityTypeBuilder<T
 	 */
 	public EntityBuilder<T, B, P> loot(JLootTable table) {
 		if (getOwner().doDatagen) {
-			getOwner().getResourcePack().addLootTable(new Identifier(getOwner().getModid(), "entities/" + getName()), table);
+			getOwner().addLootTable(new Identifier(getOwner().getModid(), "entities/" + getName()), table);
 		}
 		return this;
 	}
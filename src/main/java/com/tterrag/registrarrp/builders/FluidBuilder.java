@@ -231,6 +231,7 @@ public class FluidBuilder<T extends SimpleFlowableFluid, P> extends AbstractBuil
 			throw new IllegalStateException("Only one call to block/noBlock per builder allowed");
 		}
 		this.defaultBlock = false;
+		this.properties = this.properties.andThen(p -> p.block(null));
 		return this;
 	}
 	
@@ -301,6 +302,7 @@ public class FluidBuilder<T extends SimpleFlowableFluid, P> extends AbstractBuil
 			throw new IllegalStateException("Only one call to bucket/noBucket per builder allowed");
 		}
 		this.defaultBucket = false;
+		this.properties = this.properties.andThen(p -> p.bucket(null));
 		return this;
 	}
 	
@@ -351,6 +353,11 @@ public class FluidBuilder<T extends SimpleFlowableFluid, P> extends AbstractBuil
 			this.setDefaultRenderHandler();
 		}
 		onRegister(this::registerRenderHandler);
+		// Items are registered last, after which the block and bucket suppliers can be resolved
+		onRegisterAfter(Item.class, entry -> {
+			entry.resolveReferences();
+			getSource().resolveReferences();
+		});
 		return (FluidEntry<T>) super.register();
 	}
 	
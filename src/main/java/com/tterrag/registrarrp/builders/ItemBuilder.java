@@ -1,6 +1,7 @@
 package com.tterrag.registrarrp.builders;
 
 import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.DerivedTexture;
 import com.tterrag.registrarrp.fabric.EnvExecutor;
 import com.tterrag.registrarrp.fabric.RegistryObject;
 import com.tterrag.registrarrp.util.entry.ItemEntry;
@@ -162,6 +163,17 @@ public class ItemBuilder<T extends Item, P> extends AbstractBuilder<Item, T, P,
 		return model(new Identifier(getOwner().getModid(), "item/" + getName()), model);
 	}
 	
+	/**
+	 * Configure the model for this item.
+	 * Creates a simple item model with a flat texture generated at runtime, such as a tinted copy of another texture. The texture is named after this item.
+	 *
+	 * @param texture The texture to generate
+	 * @return this {@link ItemBuilder}
+	 */
+	public ItemBuilder<T, P> model(DerivedTexture texture) {
+		return model(getOwner().addDerivedTexture(new Identifier(getOwner().getModid(), "item/" + getName()), texture));
+	}
+	
 	/**
 	 * Configure the model for this item.
 	 *
@@ -171,7 +183,7 @@ public class ItemBuilder<T extends Item, P> extends AbstractBuilder<Item, T, P,
 	 */
 	public ItemBuilder<T, P> model(Identifier modelID, JModel model) {
 		if (getOwner().doDatagen) {
-			getOwner().getResourcePack().addModel(model, modelID);
+			getOwner().addModel(modelID, model);
 		}
 		return this;
 	}
@@ -20,7 +20,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Supplier;
 
 /**
  * A builder for tile entities, allows for customization of the valid blocks.
@@ -105,9 +104,15 @@ public class TileEntityBuilder<T extends BlockEntity, P> extends AbstractBuilder
 	@Override
 	protected BlockEntityType<T> createEntry() {
 		NonNullFunction<BlockEntityType<T>, ? extends T> factory = this.factory;
-		Supplier<BlockEntityType<T>> supplier = asSupplier();
-		return BlockEntityType.Builder.<T>create(() -> factory.apply(supplier.get()), validBlocks.stream().map(NonNullSupplier::get).toArray(Block[]::new))
+		// The factory refers to the type directly, rather than looking it up for every new tile entity
+		TypeHolder<T> holder = new TypeHolder<>();
+		holder.type = BlockEntityType.Builder.<T>create(() -> factory.apply(holder.type), validBlocks.stream().map(NonNullSupplier::get).toArray(Block[]::new))
 				.build(null);
+		return holder.type;
+	}
+	
+	private static final class TypeHolder<T extends BlockEntity> {
+		private BlockEntityType<T> type;
 	}
 	
 	@Override
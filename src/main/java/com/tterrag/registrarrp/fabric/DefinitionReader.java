@@ -0,0 +1,283 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonReader;
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.builders.BlockBuilder;
+import com.tterrag.registrarrp.builders.ItemBuilder;
+import com.tterrag.registrarrp.util.CommonLootTableTypes;
+import com.tterrag.registrarrp.util.RecipeTypes;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.FenceBlock;
+import net.minecraft.block.Material;
+import net.minecraft.block.PillarBlock;
+import net.minecraft.block.WallBlock;
+import net.minecraft.item.Item;
+import net.minecraft.tag.BlockTags;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads block and item definitions from a JSON file, registering each through the usual builders as soon as it has been read.
+ * <p>
+ * A definition file looks like:
+ *
+ * <pre>
+ * {@code
+ * {
+ *   "blocks": [
+ *     {
+ *       "name": "red_brick_stairs",       // required
+ *       "material": "stone",              // see MATERIALS, default "stone"
+ *       "shape": "stairs",                // cube, pillar, stairs, wall or fence, default "cube"
+ *       "texture": "mymod:block/red_bricks", // default "<modid>:block/<name>"
+ *       "end_texture": "...",             // pillars only, default "<texture>_top"
+ *       "base": "minecraft:bricks",       // stairs only, required. Must already be registered, such as a vanilla block.
+ *       "loot": "default",                // default, silk_touch_required, slab or never, default "default"
+ *       "item": true,                     // whether to add a block item, default true
+ *       "tags": ["minecraft:blocks/stairs"],
+ *       "recipes": [{"type": "stonecutting", "input": "minecraft:bricks", "count": 1}] // see RecipeTypes
+ *     }
+ *   ],
+ *   "items": [
+ *     {
+ *       "name": "ruby",                   // required
+ *       "texture": "mymod:item/ruby",     // default "<modid>:items/<name>"
+ *       "tags": ["c:items/gems"]
+ *     }
+ *   ]
+ * }
+ * }
+ * </pre>
+ * <p>
+ * Wall and fence blocks are added to {@link BlockTags#WALLS} and {@link BlockTags#FENCES} automatically, as they do not connect properly otherwise.
+ */
+public class DefinitionReader {
+	public static final Map<String, Material> MATERIALS = ImmutableMap.<String, Material>builder()
+			.put("stone", Material.STONE)
+			.put("wood", Material.WOOD)
+			.put("nether_wood", Material.NETHER_WOOD)
+			.put("metal", Material.METAL)
+			.put("glass", Material.GLASS)
+			.put("soil", Material.SOIL)
+			.put("aggregate", Material.AGGREGATE)
+			.put("wool", Material.WOOL)
+			.put("leaves", Material.LEAVES)
+			.put("plant", Material.PLANT)
+			.put("ice", Material.ICE)
+			.put("dense_ice", Material.DENSE_ICE)
+			.put("organic_product", Material.ORGANIC_PRODUCT)
+			.build();
+	
+	/**
+	 * Read and register all definitions.
+	 *
+	 * @param owner  The registrate to register with
+	 * @param reader The definition file
+	 * @return The number of blocks and items registered
+	 * @throws IOException If the file could not be read or is malformed
+	 */
+	public static int read(AbstractRegistrate<?> owner, JsonReader reader) throws IOException {
+		int count = 0;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			if (name.equals("blocks") || name.equals("items")) {
+				reader.beginArray();
+				while (reader.hasNext()) {
+					Definition definition = readDefinition(reader);
+					try {
+						if (name.equals("blocks")) {
+							registerBlock(owner, definition);
+						} else {
+							registerItem(owner, definition);
+						}
+					} catch (RuntimeException e) {
+						throw new IllegalArgumentException("Invalid definition " + definition.name + " at " + reader.getPath(), e);
+					}
+					count++;
+				}
+				reader.endArray();
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+		return count;
+	}
+	
+	private static Definition readDefinition(JsonReader reader) throws IOException {
+		Definition ret = new Definition();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "name":
+					ret.name = reader.nextString();
+					break;
+				case "material":
+					ret.material = reader.nextString();
+					break;
+				case "shape":
+					ret.shape = reader.nextString();
+					break;
+				case "texture":
+					ret.texture = reader.nextString();
+					break;
+				case "end_texture":
+					ret.endTexture = reader.nextString();
+					break;
+				case "base":
+					ret.base = reader.nextString();
+					break;
+				case "loot":
+					ret.loot = reader.nextString();
+					break;
+				case "item":
+					ret.item = reader.nextBoolean();
+					break;
+				case "tags":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						ret.tags.add(new Identifier(reader.nextString()));
+					}
+					reader.endArray();
+					break;
+				case "recipes":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						ret.recipes.add(readRecipe(reader));
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		if (ret.name == null) {
+			throw new IllegalArgumentException("Definition without a name at " + reader.getPath());
+		}
+		return ret;
+	}
+	
+	private static RecipeDefinition readRecipe(JsonReader reader) throws IOException {
+		RecipeDefinition ret = new RecipeDefinition();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "type":
+					ret.type = RecipeTypes.valueOf(reader.nextString().toUpperCase(Locale.ROOT));
+					break;
+				case "input":
+					ret.input = new Identifier(reader.nextString());
+					break;
+				case "count":
+					ret.count = reader.nextInt();
+					break;
+				default:
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+		if (ret.type == null || ret.input == null) {
+			throw new IllegalArgumentException("Recipe without a type or input at " + reader.getPath());
+		}
+		return ret;
+	}
+	
+	private static void registerBlock(AbstractRegistrate<?> owner, Definition definition) {
+		Material material = MATERIALS.get(definition.material);
+		if (material == null) {
+			throw new IllegalArgumentException("Unknown material " + definition.material + ", expected one of " + MATERIALS.keySet());
+		}
+		Identifier texture = definition.texture == null ? new Identifier(owner.getModid(), "block/" + definition.name) : new Identifier(definition.texture);
+		BlockBuilder<?, ?> builder;
+		switch (definition.shape) {
+			case "cube":
+				builder = owner.block(definition.name, material, Block::new)
+						.cubeModel(texture);
+				break;
+			case "pillar":
+				Identifier endTexture = definition.endTexture == null ? new Identifier(texture + "_top") : new Identifier(definition.endTexture);
+				builder = owner.block(definition.name, material, PillarBlock::new)
+						.pillarModel(texture, endTexture);
+				break;
+			case "stairs":
+				if (definition.base == null) {
+					throw new IllegalArgumentException("Stairs require a base block");
+				}
+				BlockState base = Registry.BLOCK.getOrEmpty(new Identifier(definition.base))
+						.orElseThrow(() -> new IllegalArgumentException("Unknown base block " + definition.base))
+						.getDefaultState();
+				builder = owner.block(definition.name, material, p -> new SimpleStairsBlock(base, p))
+						.stairsModel(texture);
+				break;
+			case "wall":
+				builder = owner.block(definition.name, material, WallBlock::new)
+						.wallModel(texture)
+						.tag(BlockTags.WALLS);
+				break;
+			case "fence":
+				builder = owner.block(definition.name, material, FenceBlock::new)
+						.fenceModel(texture)
+						.tag(BlockTags.FENCES);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown shape " + definition.shape);
+		}
+		if (!definition.loot.equals("default")) {
+			builder.simpleLoot(CommonLootTableTypes.valueOf(definition.loot.toUpperCase(Locale.ROOT)));
+		}
+		for (RecipeDefinition recipe : definition.recipes) {
+			// Kept as an id, so that inputs may be this mod's own blocks and items
+			builder.recipe(recipe.input, recipe.count, recipe.type);
+		}
+		builder.tag(definition.tags.toArray(new Identifier[0]));
+		if (definition.item) {
+			builder.simpleItem();
+		}
+		builder.register();
+	}
+	
+	private static void registerItem(AbstractRegistrate<?> owner, Definition definition) {
+		ItemBuilder<?, ?> builder = owner.item(definition.name, Item::new);
+		if (definition.texture != null) {
+			builder.model(new Identifier(definition.texture));
+		}
+		builder.tag(definition.tags.toArray(new Identifier[0]));
+		builder.register();
+	}
+	
+	private static final class Definition {
+		@Nullable
+		private String name;
+		private String material = "stone";
+		private String shape = "cube";
+		@Nullable
+		private String texture;
+		@Nullable
+		private String endTexture;
+		@Nullable
+		private String base;
+		private String loot = "default";
+		private boolean item = true;
+		private final List<Identifier> tags = new ArrayList<>();
+		private final List<RecipeDefinition> recipes = new ArrayList<>();
+	}
+	
+	private static final class RecipeDefinition {
+		@Nullable
+		private RecipeTypes type;
+		@Nullable
+		private Identifier input;
+		private int count = 1;
+	}
+}
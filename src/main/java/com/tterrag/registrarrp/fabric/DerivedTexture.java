@@ -0,0 +1,143 @@
+package com.tterrag.registrarrp.fabric;
+
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A texture derived from another texture at runtime, such as a tinted copy of a greyscale base, so that color variants need not be shipped as separate PNGs.
+ * <p>
+ * Source textures are read from the mods' own files (including Minecraft's), since derived textures are generated before any resources are loaded.
+ * <p>
+ * A simple use may look like:
+ *
+ * <pre>
+ * {@code
+ * DerivedTexture.of(new Identifier("mymod", "block/planks_base"))
+ *         .tint(0x9C6F3F)
+ *         .overlay(new Identifier("mymod", "block/planks_grain"));
+ * }
+ * </pre>
+ *
+ * @see DerivedTextures
+ */
+public final class DerivedTexture {
+	private final Identifier base;
+	private final int tint;
+	@Nullable
+	private final Identifier overlay;
+	
+	private DerivedTexture(Identifier base, int tint, @Nullable Identifier overlay) {
+		this.base = base;
+		this.tint = tint;
+		this.overlay = overlay;
+	}
+	
+	/**
+	 * @param base The texture to derive from, such as "minecraft:block/stone"
+	 * @return An unmodified copy of the base texture, to be modified further
+	 */
+	public static DerivedTexture of(Identifier base) {
+		return new DerivedTexture(base, 0xFFFFFF, null);
+	}
+	
+	/**
+	 * @param rgb The color to multiply the base texture by, such as {@code 0xFF0000} for red
+	 * @return A copy of this texture with the tint applied
+	 */
+	public DerivedTexture tint(int rgb) {
+		return new DerivedTexture(base, rgb & 0xFFFFFF, overlay);
+	}
+	
+	/**
+	 * @param overlay A texture drawn untinted over the base texture, such as "mymod:block/ore_overlay". Must be the same size as the base texture.
+	 * @return A copy of this texture with the overlay applied
+	 */
+	public DerivedTexture overlay(Identifier overlay) {
+		return new DerivedTexture(base, tint, overlay);
+	}
+	
+	/**
+	 * @return A string which describes the operations of this texture, but not its sources' contents
+	 */
+	String getKey() {
+		return base + "|" + Integer.toHexString(tint) + "|" + overlay;
+	}
+	
+	byte[] readBase() throws IOException {
+		return read(base);
+	}
+	
+	@Nullable
+	byte[] readOverlay() throws IOException {
+		return overlay == null ? null : read(overlay);
+	}
+	
+	/**
+	 * Generate this texture from the given sources.
+	 *
+	 * @param baseData    The contents of the base texture
+	 * @param overlayData The contents of the overlay texture, if any
+	 * @return The generated texture, encoded as a PNG
+	 */
+	byte[] generate(byte[] baseData, @Nullable byte[] overlayData) throws IOException {
+		BufferedImage source = ImageIO.read(new ByteArrayInputStream(baseData));
+		if (source == null) {
+			throw new IOException("Could not decode texture " + base);
+		}
+		BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_ARGB);
+		int red = tint >> 16 & 0xFF;
+		int green = tint >> 8 & 0xFF;
+		int blue = tint & 0xFF;
+		for (int y = 0; y < image.getHeight(); y++) {
+			for (int x = 0; x < image.getWidth(); x++) {
+				int argb = source.getRGB(x, y);
+				image.setRGB(x, y, argb & 0xFF000000
+						| ((argb >> 16 & 0xFF) * red / 255) << 16
+						| ((argb >> 8 & 0xFF) * green / 255) << 8
+						| (argb & 0xFF) * blue / 255);
+			}
+		}
+		if (overlayData != null) {
+			BufferedImage overlayImage = ImageIO.read(new ByteArrayInputStream(overlayData));
+			if (overlayImage == null) {
+				throw new IOException("Could not decode texture " + overlay);
+			}
+			Graphics2D graphics = image.createGraphics();
+			graphics.setComposite(AlphaComposite.SrcOver);
+			graphics.drawImage(overlayImage, 0, 0, null);
+			graphics.dispose();
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+	
+	private static byte[] read(Identifier texture) throws IOException {
+		String path = "assets/" + texture.getNamespace() + "/textures/" + texture.getPath() + ".png";
+		// The texture's own namespace is by far the most likely place to find it
+		ModContainer owner = FabricLoader.getInstance().getModContainer(texture.getNamespace()).orElse(null);
+		if (owner != null && Files.isRegularFile(owner.getPath(path))) {
+			return Files.readAllBytes(owner.getPath(path));
+		}
+		for (ModContainer mod : FabricLoader.getInstance().getAllMods()) {
+			Path file = mod.getPath(path);
+			if (Files.isRegularFile(file)) {
+				return Files.readAllBytes(file);
+			}
+		}
+		throw new FileNotFoundException("No mod contains texture " + texture);
+	}
+}
@@ -0,0 +1,86 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.tterrag.registrarrp.util.nullness.NonNullSupplier;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates {@link DerivedTexture derived textures} for a pack.
+ * <p>
+ * Generated textures are cached on disk, keyed by a hash of their operations and the contents of their sources, so a texture is only generated again once
+ * something it is made from changes. Generation and PNG encoding run in parallel.
+ */
+public class DerivedTextures {
+	private static final Path CACHE_DIR = FabricLoader.getInstance().getGameDir().resolve(".registrarrp_cache").resolve("textures");
+	
+	private final Map<Identifier, DerivedTexture> textures = new LinkedHashMap<>();
+	
+	/**
+	 * @param id      The Identifier of the texture, such as "mymod:block/red_planks"
+	 * @param texture The texture. Replaces any texture previously added with the same id.
+	 */
+	public void add(Identifier id, DerivedTexture texture) {
+		textures.put(id, texture);
+	}
+	
+	/**
+	 * Add all textures to the given pack.
+	 *
+	 * @param pack     The pack to add to
+	 * @param prefetch Whether to start generating all textures in the background now, rather than each when it is first read. Preferable whenever the textures
+	 *                 will be read, i.e. on the client.
+	 */
+	public void emit(IndexedResourcePack pack, boolean prefetch) {
+		textures.forEach((id, texture) -> {
+			NonNullSupplier<byte[]> generator = () -> generate(texture);
+			if (prefetch) {
+				CompletableFuture<byte[]> future = CompletableFuture.supplyAsync(generator);
+				generator = future::join;
+			}
+			pack.addGenerated(ResourceType.CLIENT_RESOURCES, new Identifier(id.getNamespace(), "textures/" + id.getPath() + ".png"), generator);
+		});
+	}
+	
+	private static byte[] generate(DerivedTexture texture) {
+		try {
+			byte[] base = texture.readBase();
+			byte[] overlay = texture.readOverlay();
+			Hasher hasher = Hashing.murmur3_128().newHasher()
+					.putString(texture.getKey(), StandardCharsets.UTF_8)
+					.putBytes(base);
+			if (overlay != null) {
+				hasher.putBytes(overlay);
+			}
+			Path cached = CACHE_DIR.resolve(hasher.hash() + ".png");
+			if (Files.isRegularFile(cached)) {
+				return Files.readAllBytes(cached);
+			}
+			byte[] data = texture.generate(base, overlay);
+			try {
+				Files.createDirectories(CACHE_DIR);
+				// Move into place, so a half-written file is never read from the cache
+				Path temp = Files.createTempFile(CACHE_DIR, null, ".tmp");
+				Files.write(temp, data);
+				Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				RegistrARRP.LOGGER.warn("Could not cache derived texture " + texture.getKey(), e);
+			}
+			return data;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Could not generate derived texture " + texture.getKey(), e);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.devtech.arrp.impl.RuntimeResourcePackImpl;
+import net.devtech.arrp.json.blockstate.JState;
+import net.devtech.arrp.json.models.JModel;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.InvalidIdentifierException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects generated models and blockstates, so that models nothing refers to can be left out of the pack.
+ * <p>
+ * Builders often leave models behind, such as when a block's default model is replaced, or when a block and its item both write the same item model. Every
+ * model in the pack is baked by the client whether it is used or not, so unused ones cost load time and memory.
+ */
+public class GeneratedModels {
+	private final Map<Identifier, JModel> models = new LinkedHashMap<>();
+	private final Map<Identifier, JState> blockStates = new LinkedHashMap<>();
+	
+	/**
+	 * @param id    The Identifier of the model, such as "mymod:block/my_block"
+	 * @param model The model. Replaces any model previously added with the same id.
+	 */
+	public void addModel(Identifier id, JModel model) {
+		models.put(id, model);
+	}
+	
+	/**
+	 * @param id    The Identifier of the blockstate, such as "mymod:my_block"
+	 * @param state The blockstate. Replaces any blockstate previously added with the same id.
+	 */
+	public void addBlockState(Identifier id, JState state) {
+		blockStates.put(id, state);
+	}
+	
+	/**
+	 * Add all blockstates, and every model that can be reached from them, to the given pack.
+	 * <p>
+	 * Models are reached from the blockstates, from every model under {@code item/} (which the game loads for each item by name), and from the
+	 * {@code parent} and {@code model} references of reached models. References to models which were not generated here, such as vanilla's, are ignored.
+	 *
+	 * @param pack  The pack to add to
+	 * @param prune Whether to leave out unreachable models. If {@code false}, nothing is serialized until it is first read, which is preferable when models are never
+	 *              read at all, such as on a dedicated server.
+	 * @return The number of models left out
+	 */
+	public int emit(IndexedResourcePack pack, boolean prune) {
+		if (!prune) {
+			blockStates.forEach((id, state) -> pack.addGenerated(ResourceType.CLIENT_RESOURCES, getBlockStatePath(id), () -> RuntimeResourcePackImpl.serialize(state)));
+			models.forEach((id, model) -> pack.addGenerated(ResourceType.CLIENT_RESOURCES, getModelPath(id), () -> RuntimeResourcePackImpl.serialize(model)));
+			return 0;
+		}
+		Deque<Identifier> queue = new ArrayDeque<>();
+		blockStates.forEach((id, state) -> {
+			byte[] data = RuntimeResourcePackImpl.serialize(state);
+			pack.addGenerated(ResourceType.CLIENT_RESOURCES, getBlockStatePath(id), () -> data);
+			collectReferences(parse(data), queue);
+		});
+		for (Identifier id : models.keySet()) {
+			if (id.getPath().startsWith("item/")) {
+				queue.add(id);
+			}
+		}
+		Set<Identifier> reached = new HashSet<>();
+		while (!queue.isEmpty()) {
+			Identifier id = queue.poll();
+			JModel model = models.get(id);
+			if (model == null || !reached.add(id)) {
+				continue;
+			}
+			// The bytes are already needed to follow references, so keep them rather than serializing again on read
+			byte[] data = RuntimeResourcePackImpl.serialize(model);
+			pack.addGenerated(ResourceType.CLIENT_RESOURCES, getModelPath(id), () -> data);
+			collectReferences(parse(data), queue);
+		}
+		return models.size() - reached.size();
+	}
+	
+	private static Identifier getModelPath(Identifier id) {
+		return new Identifier(id.getNamespace(), "models/" + id.getPath() + ".json");
+	}
+	
+	private static Identifier getBlockStatePath(Identifier id) {
+		return new Identifier(id.getNamespace(), "blockstates/" + id.getPath() + ".json");
+	}
+	
+	private static JsonElement parse(byte[] data) {
+		return new JsonParser().parse(new String(data, StandardCharsets.UTF_8));
+	}
+	
+	private static void collectReferences(JsonElement json, Collection<Identifier> out) {
+		if (json.isJsonArray()) {
+			json.getAsJsonArray().forEach(element -> collectReferences(element, out));
+		} else if (json.isJsonObject()) {
+			for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+				JsonElement value = entry.getValue();
+				if ((entry.getKey().equals("parent") || entry.getKey().equals("model")) && value.isJsonPrimitive()) {
+					try {
+						out.add(new Identifier(value.getAsString()));
+					} catch (InvalidIdentifierException e) {
+						// Not a reference to one of our models either way
+					}
+				} else {
+					collectReferences(value, out);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.tterrag.registrarrp.util.nullness.NonNullSupplier;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.resource.ResourcePack;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.resource.metadata.ResourceMetadataReader;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Wraps a {@link ResourcePack}, keeping an index of its contents so that lookups never have to scan every stored resource.
+ * <p>
+ * For each namespace, the index holds a hash map of paths, used by {@link #contains(ResourceType, Identifier)} and {@link #open(ResourceType, Identifier)}, and a
+ * trie of path segments, used by {@link #findResources(ResourceType, String, String, int, Predicate)}. Listing a directory costs time proportional to the number of
+ * matches, rather than to the size of the pack.
+ * <p>
+ * The index is built from the wrapped pack the first time it is needed, and must be {@link #invalidate() invalidated} if resources are added to the wrapped pack
+ * afterwards. It is immutable once built, so it can be read from the worker threads resource reloading runs on.
+ * <p>
+ * Resources may also be {@link #addGenerated(ResourceType, Identifier, NonNullSupplier) generated on demand}, so that work is only done for resources the game
+ * actually reads. A dedicated server never reads models, and the client only reads the lang files of the selected language.
+ */
+public class IndexedResourcePack implements ResourcePack {
+	private final ResourcePack delegate;
+	private final Map<ResourceType, Set<Identifier>> hidden = new EnumMap<>(ResourceType.class);
+	private final Map<ResourceType, Map<Identifier, GeneratedResource>> generated = new EnumMap<>(ResourceType.class);
+	private final PrebuiltData prebuiltData = new PrebuiltData();
+	@Nullable
+	private volatile Map<ResourceType, Map<String, NamespaceIndex>> index;
+	
+	public IndexedResourcePack(ResourcePack delegate) {
+		this.delegate = delegate;
+		for (ResourceType type : ResourceType.values()) {
+			hidden.put(type, ConcurrentHashMap.newKeySet());
+			generated.put(type, new ConcurrentHashMap<>());
+		}
+	}
+	
+	/**
+	 * Add a resource which is generated the first time it is opened, rather than up front. The generated bytes are kept for later opens.
+	 * <p>
+	 * Generated resources take priority over resources of the same path in the wrapped pack.
+	 *
+	 * @param type      The type of the resource
+	 * @param id        The resource's path, such as "mymod:models/block/my_block.json"
+	 * @param generator A generator for the contents of the resource. May be called from any thread, but only once.
+	 */
+	public void addGenerated(ResourceType type, Identifier id, NonNullSupplier<byte[]> generator) {
+		generated.get(type).put(id, new GeneratedResource(generator));
+		invalidate();
+	}
+	
+	/**
+	 * @return The parsed data of this pack, which is handed to the game's loaders while this pack is part of a reload
+	 */
+	public PrebuiltData getPrebuiltData() {
+		return prebuiltData;
+	}
+	
+	/**
+	 * Leave a resource out of {@link #findResources(ResourceType, String, String, int, Predicate)}, while still allowing it to be opened. Used for resources which
+	 * are handed to the game by other means, such as {@link PrebuiltData}, so that they are not loaded twice.
+	 *
+	 * @param type The type of the resource
+	 * @param id   The resource to hide
+	 */
+	public void hideFromListing(ResourceType type, Identifier id) {
+		hidden.get(type).add(id);
+	}
+	
+	/**
+	 * Discard the index, so that it is rebuilt from the wrapped pack on next use.
+	 */
+	public void invalidate() {
+		index = null;
+	}
+	
+	private Map<String, NamespaceIndex> getIndex(ResourceType type) {
+		Map<ResourceType, Map<String, NamespaceIndex>> index = this.index;
+		if (index == null) {
+			index = buildIndex();
+		}
+		return index.get(type);
+	}
+	
+	private synchronized Map<ResourceType, Map<String, NamespaceIndex>> buildIndex() {
+		Map<ResourceType, Map<String, NamespaceIndex>> index = this.index;
+		if (index != null) {
+			return index;
+		}
+		index = new EnumMap<>(ResourceType.class);
+		for (ResourceType type : ResourceType.values()) {
+			Map<String, NamespaceIndex> namespaces = new HashMap<>();
+			for (String namespace : delegate.getNamespaces(type)) {
+				NamespaceIndex namespaceIndex = new NamespaceIndex();
+				for (Identifier id : delegate.findResources(type, namespace, "", Integer.MAX_VALUE, $ -> true)) {
+					namespaceIndex.add(id);
+				}
+				if (!namespaceIndex.resources.isEmpty()) {
+					namespaces.put(namespace, namespaceIndex);
+				}
+			}
+			for (Identifier id : generated.get(type).keySet()) {
+				namespaces.computeIfAbsent(id.getNamespace(), $ -> new NamespaceIndex()).add(id);
+			}
+			index.put(type, namespaces);
+		}
+		this.index = index;
+		return index;
+	}
+	
+	/**
+	 * List every resource in this pack, including metadata files, which {@link #findResources(ResourceType, String, String, int, Predicate)} leaves out.
+	 *
+	 * @param type The type of resources to list
+	 * @return The identifiers of all resources of the given type
+	 */
+	public List<Identifier> getAllResources(ResourceType type) {
+		List<Identifier> ret = new ArrayList<>();
+		for (NamespaceIndex namespaceIndex : getIndex(type).values()) {
+			ret.addAll(namespaceIndex.resources.values());
+		}
+		return ret;
+	}
+	
+	@Override
+	@Environment(EnvType.CLIENT)
+	public InputStream openRoot(String fileName) throws IOException {
+		return delegate.openRoot(fileName);
+	}
+	
+	@Override
+	public InputStream open(ResourceType type, Identifier id) throws IOException {
+		if (!contains(type, id)) {
+			throw new FileNotFoundException(id.toString());
+		}
+		GeneratedResource resource = generated.get(type).get(id);
+		if (resource != null) {
+			try {
+				return new ByteArrayInputStream(resource.get());
+			} catch (RuntimeException e) {
+				// Reported like any other unreadable resource, rather than failing the whole reload
+				throw new IOException("Could not generate resource " + id, e);
+			}
+		}
+		return delegate.open(type, id);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * As with vanilla's packs, the prefix is a directory, and the filter is applied to the file name.
+	 */
+	@Override
+	public Collection<Identifier> findResources(ResourceType type, String namespace, String prefix, int maxDepth, Predicate<String> pathFilter) {
+		NamespaceIndex namespaceIndex = getIndex(type).get(namespace);
+		if (namespaceIndex == null) {
+			return Collections.emptyList();
+		}
+		Node node = namespaceIndex.root;
+		for (String segment : prefix.split("/")) {
+			if (segment.isEmpty()) {
+				continue;
+			}
+			node = node.children.get(segment);
+			if (node == null) {
+				return Collections.emptyList();
+			}
+		}
+		List<Identifier> ret = new ArrayList<>();
+		node.collect(maxDepth, pathFilter, hidden.get(type), ret);
+		return ret;
+	}
+	
+	@Override
+	public boolean contains(ResourceType type, Identifier id) {
+		NamespaceIndex namespaceIndex = getIndex(type).get(id.getNamespace());
+		return namespaceIndex != null && namespaceIndex.resources.containsKey(id.getPath());
+	}
+	
+	@Override
+	public Set<String> getNamespaces(ResourceType type) {
+		return Collections.unmodifiableSet(getIndex(type).keySet());
+	}
+	
+	@Nullable
+	@Override
+	public <T> T parseMetadata(ResourceMetadataReader<T> metaReader) throws IOException {
+		return delegate.parseMetadata(metaReader);
+	}
+	
+	@Override
+	public String getName() {
+		return delegate.getName();
+	}
+	
+	@Override
+	public void close() {
+		delegate.close();
+	}
+	
+	private static final class GeneratedResource {
+		@Nullable
+		private NonNullSupplier<byte[]> generator;
+		@Nullable
+		private volatile byte[] data;
+		
+		GeneratedResource(NonNullSupplier<byte[]> generator) {
+			this.generator = generator;
+		}
+		
+		byte[] get() {
+			byte[] data = this.data;
+			if (data == null) {
+				synchronized (this) {
+					data = this.data;
+					if (data == null) {
+						this.data = data = generator.get();
+						generator = null;
+					}
+				}
+			}
+			return data;
+		}
+	}
+	
+	private static final class NamespaceIndex {
+		private final Map<String, Identifier> resources = new HashMap<>();
+		private final Node root = new Node(null);
+		
+		void add(Identifier id) {
+			if (resources.putIfAbsent(id.getPath(), id) != null) {
+				return;
+			}
+			Node node = root;
+			for (String segment : id.getPath().split("/")) {
+				node = node.children.computeIfAbsent(segment, Node::new);
+			}
+			node.resource = id;
+		}
+	}
+	
+	private static final class Node {
+		@Nullable
+		private final String name;
+		private final Map<String, Node> children = new HashMap<>();
+		@Nullable
+		private Identifier resource;
+		
+		Node(@Nullable String name) {
+			this.name = name;
+		}
+		
+		void collect(int depth, Predicate<String> filter, Set<Identifier> hidden, List<Identifier> out) {
+			for (Node child : children.values()) {
+				// Metadata is opened alongside its resource, never listed
+				if (child.resource != null && !child.name.endsWith(".mcmeta") && filter.test(child.name) && (hidden.isEmpty() || !hidden.contains(child.resource))) {
+					out.add(child.resource);
+				}
+				if (depth > 0 && !child.children.isEmpty()) {
+					child.collect(depth - 1, filter, hidden, out);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.gson.stream.JsonWriter;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A table of translations for any number of locales.
+ * <p>
+ * Each key is interned and stored once, and given an index. Each locale holds a plain array of values by key index, so adding a locale costs one array rather
+ * than a map of its own. Each locale is written out as a single JSON object, sorted by key.
+ */
+public class LangTable {
+	private final Object2IntOpenHashMap<String> keyIndices = new Object2IntOpenHashMap<>();
+	private final List<String> keys = new ArrayList<>();
+	private final Map<String, String[]> values = new LinkedHashMap<>();
+	@Nullable
+	private int[] sortedKeys;
+	
+	public LangTable() {
+		keyIndices.defaultReturnValue(-1);
+	}
+	
+	/**
+	 * Add a translation, unless the key already has one in the given locale.
+	 *
+	 * @param locale The locale, such as "en_us"
+	 * @param key    The translation key
+	 * @param value  The translated text
+	 * @return {@code true} if the translation was added, {@code false} if the key already had a translation
+	 */
+	public synchronized boolean put(String locale, String key, String value) {
+		int index = keyIndices.getInt(key);
+		if (index < 0) {
+			index = keys.size();
+			keys.add(key.intern());
+			keyIndices.put(keys.get(index), index);
+			sortedKeys = null;
+		}
+		String[] localeValues = values.get(locale);
+		if (localeValues == null || localeValues.length <= index) {
+			localeValues = localeValues == null ? new String[Math.max(16, index + 1)] : Arrays.copyOf(localeValues, Math.max(localeValues.length * 2, index + 1));
+			values.put(locale, localeValues);
+		}
+		if (localeValues[index] != null) {
+			return false;
+		}
+		localeValues[index] = value;
+		return true;
+	}
+	
+	/**
+	 * @return Every locale which has at least one translation
+	 */
+	public synchronized Set<String> getLocales() {
+		return Collections.unmodifiableSet(values.keySet());
+	}
+	
+	/**
+	 * Write the translations of a locale as a lang file.
+	 *
+	 * @param locale The locale to write
+	 * @return The contents of the lang file, a JSON object sorted by key
+	 */
+	public synchronized byte[] toJson(String locale) {
+		if (sortedKeys == null) {
+			int[] sorted = new int[keys.size()];
+			for (int i = 0; i < sorted.length; i++) {
+				sorted[i] = i;
+			}
+			IntArrays.quickSort(sorted, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+			sortedKeys = sorted;
+		}
+		String[] localeValues = values.getOrDefault(locale, new String[0]);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+			writer.setIndent("  ");
+			writer.beginObject();
+			for (int index : sortedKeys) {
+				if (index < localeValues.length && localeValues[index] != null) {
+					writer.name(keys.get(index)).value(localeValues[index]);
+				}
+			}
+			writer.endObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+}
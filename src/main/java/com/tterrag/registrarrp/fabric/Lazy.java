@@ -3,8 +3,9 @@ package com.tterrag.registrarrp.fabric;
 import java.util.function.Supplier;
 
 // Copy of Minecraft's Lazy. Needed for NonNullLazyValue to work correctly with the remapper.
+// Unlike Minecraft's, safe to read from any thread: value is written before the volatile write of supplier, and only read after seeing it null
 public class Lazy<T> {
-	private Supplier<T> supplier;
+	private volatile Supplier<T> supplier;
 	private T value;
 	
 	public Lazy(Supplier<T> delegate) {
@@ -12,10 +13,14 @@ public class Lazy<T> {
 	}
 	
 	public T get() {
-		Supplier<T> supplier = this.supplier;
-		if (supplier != null) {
-			this.value = supplier.get();
-			this.supplier = null;
+		if (this.supplier != null) {
+			synchronized (this) {
+				Supplier<T> supplier = this.supplier;
+				if (supplier != null) {
+					this.value = supplier.get();
+					this.supplier = null;
+				}
+			}
 		}
 		
 		return this.value;
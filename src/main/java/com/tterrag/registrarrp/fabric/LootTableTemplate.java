@@ -0,0 +1,62 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.tterrag.registrarrp.util.nullness.NonNullFunction;
+import net.devtech.arrp.impl.RuntimeResourcePackImpl;
+import net.devtech.arrp.json.loot.JLootTable;
+import net.minecraft.util.Identifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * A loot table which is serialized once, and can then be written out for any number of entries by substituting their id into the serialized text.
+ * <p>
+ * A simple use may look like:
+ *
+ * <pre>
+ * {@code
+ * public static final LootTableTemplate DROP_SELF = LootTableTemplate.of(id -> JLootTable.loot("minecraft:block")
+ *         .pool(JLootTable.pool()
+ *                 .rolls(1)
+ *                 .entry(JLootTable.entry()
+ *                         .type("minecraft:item")
+ *                         .name(id))));
+ * }
+ * </pre>
+ */
+public class LootTableTemplate {
+	private static final String PLACEHOLDER = "registrarrp:loot_table_template_placeholder";
+	
+	// Text between occurrences of the quoted placeholder
+	private final String[] parts;
+	
+	private LootTableTemplate(String[] parts) {
+		this.parts = parts;
+	}
+	
+	/**
+	 * Create a template. The factory is called once, with a placeholder in place of the id.
+	 *
+	 * @param factory A factory for the loot table, given the id of the entry the table is for, such as "mymod:my_block"
+	 * @return The template
+	 */
+	public static LootTableTemplate of(NonNullFunction<String, JLootTable> factory) {
+		String json = new String(RuntimeResourcePackImpl.serialize(factory.apply(PLACEHOLDER)), StandardCharsets.UTF_8);
+		return new LootTableTemplate(json.split(Pattern.quote('"' + PLACEHOLDER + '"'), -1));
+	}
+	
+	/**
+	 * Write out this template for the given entry.
+	 *
+	 * @param id The id of the entry, which replaces the placeholder. Identifiers never need escaping in JSON.
+	 * @return The serialized loot table
+	 */
+	public byte[] apply(Identifier id) {
+		String quoted = '"' + id.toString() + '"';
+		StringBuilder ret = new StringBuilder(parts[0]);
+		for (int i = 1; i < parts.length; i++) {
+			ret.append(quoted).append(parts[i]);
+		}
+		return ret.toString().getBytes(StandardCharsets.UTF_8);
+	}
+}
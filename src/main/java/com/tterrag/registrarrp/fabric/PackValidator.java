@@ -0,0 +1,257 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Checks every reference in a dumped pack (see {@link ResourcePackDumper}) without starting the game: model parents and textures, blockstate models, loot table
+ * items and tag members. References may be satisfied by the pack itself, or by any of the given source jars or directories, such as the mod's own jar and the
+ * Minecraft jar.
+ * <p>
+ * Only the file listings of the sources are needed, so jars are opened through their central directories, all in parallel.
+ * <p>
+ * Items and blocks cannot be checked against their registries offline, so an item is taken to exist if it has an item model, and a block if it has a blockstate.
+ * <p>
+ * Run as {@code PackValidator <pack directory or zip> [source jars or directories...]}. Problems are printed along with their count, and the exit code is 1 if
+ * there were any.
+ */
+public class PackValidator {
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: PackValidator <pack directory or zip> [source jars or directories...]");
+			System.exit(-1);
+		}
+		List<Path> sources = Stream.of(args).skip(1).map(Paths::get).collect(Collectors.toList());
+		List<String> problems = validate(Paths.get(args[0]), sources);
+		problems.forEach(System.out::println);
+		System.out.println(problems.size() + " problem(s) found");
+		// Exit codes are taken modulo 256, so the count itself cannot be the exit code
+		System.exit(problems.isEmpty() ? 0 : 1);
+	}
+	
+	/**
+	 * Check every reference in a pack.
+	 *
+	 * @param pack    The pack, as a directory or zip
+	 * @param sources Jars or directories containing resources the pack may refer to
+	 * @return A sorted list of problems, empty if every reference was found
+	 * @throws IOException If the pack or a source could not be read
+	 */
+	public static List<String> validate(Path pack, List<Path> sources) throws IOException {
+		Map<String, byte[]> files = new TreeMap<>();
+		forEachFile(pack, true, files::put);
+		Set<String> available = ConcurrentHashMap.newKeySet();
+		available.addAll(files.keySet());
+		try {
+			sources.parallelStream().forEach(source -> {
+				try {
+					forEachFile(source, false, (path, $) -> available.add(path));
+				} catch (IOException e) {
+					throw new UncheckedIOException("Could not read " + source, e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		List<String> problems = Collections.synchronizedList(new ArrayList<>());
+		files.entrySet().parallelStream().forEach(file -> new FileCheck(file.getKey(), available, problems).check(file.getValue()));
+		List<String> ret = new ArrayList<>(problems);
+		Collections.sort(ret);
+		return ret;
+	}
+	
+	// Reads contents only if asked, so that sources are only ever listed
+	private static void forEachFile(Path root, boolean readContents, BiConsumer<String, byte[]> action) throws IOException {
+		if (Files.isDirectory(root)) {
+			try (Stream<Path> walk = Files.walk(root)) {
+				for (Path file : (Iterable<Path>) walk.filter(Files::isRegularFile)::iterator) {
+					String path = root.relativize(file).toString().replace('\\', '/');
+					action.accept(path, readContents ? Files.readAllBytes(file) : null);
+				}
+			}
+			return;
+		}
+		try (ZipFile zip = new ZipFile(root.toFile())) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.isDirectory()) {
+					continue;
+				}
+				byte[] data = null;
+				if (readContents) {
+					try (InputStream stream = zip.getInputStream(entry)) {
+						data = ByteStreams.toByteArray(stream);
+					}
+				}
+				action.accept(entry.getName(), data);
+			}
+		}
+	}
+	
+	private static final class FileCheck {
+		private final String path;
+		private final Set<String> available;
+		private final List<String> problems;
+		
+		FileCheck(String path, Set<String> available, List<String> problems) {
+			this.path = path;
+			this.available = available;
+			this.problems = problems;
+		}
+		
+		void check(byte[] data) {
+			String[] parts = path.split("/", 4);
+			if (parts.length < 4 || !path.endsWith(".json")) {
+				return;
+			}
+			JsonElement json;
+			try {
+				json = new JsonParser().parse(new String(data, StandardCharsets.UTF_8));
+			} catch (JsonParseException e) {
+				problems.add(path + ": malformed JSON (" + e.getMessage() + ")");
+				return;
+			}
+			String directory = parts[0] + "/" + parts[2];
+			switch (directory) {
+				case "assets/models":
+					checkModel(json);
+					break;
+				case "assets/blockstates":
+					forEachString(json, "model", this::requireModel);
+					break;
+				case "data/loot_tables":
+					checkLootTable(json);
+					break;
+				case "data/tags":
+					checkTag(json, parts[3].substring(0, parts[3].indexOf('/') + 1));
+					break;
+			}
+		}
+		
+		private void checkModel(JsonElement json) {
+			if (!json.isJsonObject()) {
+				return;
+			}
+			JsonObject model = json.getAsJsonObject();
+			if (model.has("parent")) {
+				String parent = model.get("parent").getAsString();
+				// Parents such as builtin/generated are hardcoded
+				if (!getPath(parent).startsWith("builtin/")) {
+					requireModel(parent);
+				}
+			}
+			if (model.has("textures") && model.get("textures").isJsonObject()) {
+				for (Map.Entry<String, JsonElement> texture : model.getAsJsonObject("textures").entrySet()) {
+					String value = texture.getValue().getAsString();
+					// Variables such as #all refer to other entries
+					if (!value.startsWith("#")) {
+						require("texture", value, "assets/%s/textures/%s.png");
+					}
+				}
+			}
+			if (model.has("overrides")) {
+				forEachString(model.get("overrides"), "model", this::requireModel);
+			}
+		}
+		
+		private void checkLootTable(JsonElement json) {
+			forEachObject(json, object -> {
+				if (object.has("type") && object.has("name") && getId(object.get("type").getAsString()).equals("minecraft:item")) {
+					require("item", object.get("name").getAsString(), "assets/%s/models/item/%s.json");
+				}
+			});
+		}
+		
+		private void checkTag(JsonElement json, String kind) {
+			if (!json.isJsonObject() || !json.getAsJsonObject().has("values")) {
+				return;
+			}
+			for (JsonElement value : json.getAsJsonObject().getAsJsonArray("values")) {
+				String id;
+				if (value.isJsonObject()) {
+					// Optional entries may be missing
+					JsonObject entry = value.getAsJsonObject();
+					if (entry.has("required") && !entry.get("required").getAsBoolean()) {
+						continue;
+					}
+					id = entry.get("id").getAsString();
+				} else {
+					id = value.getAsString();
+				}
+				if (id.startsWith("#")) {
+					require("tag", id.substring(1), "data/%s/tags/" + kind + "%s.json");
+				} else if (kind.equals("blocks/")) {
+					require("block", id, "assets/%s/blockstates/%s.json");
+				} else if (kind.equals("items/")) {
+					require("item", id, "assets/%s/models/item/%s.json");
+				}
+			}
+		}
+		
+		private void requireModel(String id) {
+			require("model", id, "assets/%s/models/%s.json");
+		}
+		
+		private void require(String kind, String id, String format) {
+			if (!available.contains(String.format(format, getNamespace(id), getPath(id)))) {
+				problems.add(path + ": missing " + kind + " " + getId(id));
+			}
+		}
+		
+		private static void forEachString(JsonElement json, String key, Consumer<String> action) {
+			forEachObject(json, object -> {
+				if (object.has(key) && object.get(key).isJsonPrimitive()) {
+					action.accept(object.get(key).getAsString());
+				}
+			});
+		}
+		
+		private static void forEachObject(JsonElement json, Consumer<JsonObject> action) {
+			if (json.isJsonArray()) {
+				json.getAsJsonArray().forEach(element -> forEachObject(element, action));
+			} else if (json.isJsonObject()) {
+				action.accept(json.getAsJsonObject());
+				json.getAsJsonObject().entrySet().forEach(entry -> forEachObject(entry.getValue(), action));
+			}
+		}
+		
+		private static String getNamespace(String id) {
+			int split = id.indexOf(':');
+			return split < 0 ? "minecraft" : id.substring(0, split);
+		}
+		
+		private static String getPath(String id) {
+			return id.substring(id.indexOf(':') + 1);
+		}
+		
+		private static String getId(String id) {
+			return getNamespace(id) + ":" + getPath(id);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.minecraft.resource.JsonDataLoader;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds generated data as already-parsed JSON trees, which are handed straight to {@link JsonDataLoader JsonDataLoaders} (such as the recipe and loot table
+ * managers) on every data reload, instead of being read and parsed from the generated pack.
+ * <p>
+ * Entries are added with {@link Map#putIfAbsent(Object, Object)}, after the loader has read every pack, so data from any other pack still takes priority.
+ * <p>
+ * Each {@link IndexedResourcePack} holds its own prebuilt data, which is only handed to a loader if the pack is part of the reload, so that nothing is added
+ * while the pack is disabled, and nothing carries over from a previous reload.
+ *
+ * @see com.tterrag.registrarrp.mixin.JsonDataLoaderMixin
+ */
+public class PrebuiltData {
+	public static final String RECIPES = "recipes";
+	public static final String LOOT_TABLES = "loot_tables";
+	
+	private final Map<String, Map<Identifier, JsonElement>> data = new ConcurrentHashMap<>();
+	
+	/**
+	 * Add a prebuilt tree.
+	 *
+	 * @param dataType The data directory of the loader, such as {@link #RECIPES}
+	 * @param id       The id of the entry, without the data directory or file extension
+	 * @param json     The entry
+	 */
+	public void put(String dataType, Identifier id, JsonElement json) {
+		data.computeIfAbsent(dataType, $ -> new ConcurrentHashMap<>()).put(id, json);
+	}
+	
+	/**
+	 * Parse serialized generated data.
+	 *
+	 * @param data The serialized data
+	 * @return The parsed tree
+	 */
+	public static JsonElement parse(byte[] data) {
+		return new JsonParser().parse(new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Add the prebuilt trees of every pack taking part in a reload to a loader's results. Called at the end of {@link JsonDataLoader} preparation.
+	 *
+	 * @param manager  The resource manager the loader read from
+	 * @param dataType The data directory of the loader
+	 * @param loaded   The trees the loader read from the resource packs
+	 */
+	public static void addTo(ResourceManager manager, String dataType, Map<Identifier, JsonElement> loaded) {
+		manager.streamResourcePacks().forEach(pack -> {
+			if (pack instanceof IndexedResourcePack) {
+				((IndexedResourcePack) pack).getPrebuiltData().addTo(dataType, loaded);
+			}
+		});
+	}
+	
+	private void addTo(String dataType, Map<Identifier, JsonElement> loaded) {
+		Map<Identifier, JsonElement> data = this.data.get(dataType);
+		if (data != null) {
+			data.forEach(loaded::putIfAbsent);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.util.RecipeTypes;
+import net.devtech.arrp.json.recipe.*;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects any number of recipes, which are added to the registrate together by {@link #register()}. Items are given by id, so that recipes can refer to
+ * items which have not been registered yet.
+ * <p>
+ * A simple use may look like:
+ *
+ * <pre>
+ * {@code
+ * REGISTRATE.recipes()
+ *         .cooking(RecipeTypes.SMELTING, new Identifier("mymod", "raw_ruby"), new Identifier("mymod", "ruby"), 1)
+ *         .shapeless(new Identifier("mymod", "ruby_dust"), 2, new Identifier("mymod", "ruby"))
+ *         .register();
+ * }
+ * </pre>
+ *
+ * @see AbstractRegistrate#getRecipeIndex()
+ */
+public class RecipeBatch {
+	private final AbstractRegistrate<?> owner;
+	private final List<Pair<String, JRecipe>> recipes = new ArrayList<>();
+	
+	public RecipeBatch(AbstractRegistrate<?> owner) {
+		this.owner = owner;
+	}
+	
+	/**
+	 * Add a recipe.
+	 *
+	 * @param name   The name of the recipe, from which its id is generated
+	 * @param recipe The recipe, in the form of a raw {@link JRecipe} object
+	 * @return this {@link RecipeBatch}
+	 */
+	public RecipeBatch add(String name, JRecipe recipe) {
+		recipes.add(new Pair<>(name, recipe));
+		return this;
+	}
+	
+	/**
+	 * Add a shaped recipe.
+	 *
+	 * @param output  The output item, such as "mymod:my_block"
+	 * @param count   The number of items in the output stack
+	 * @param pattern The rows of the recipe, such as {@code new String[]{"XX", "XX"}}
+	 * @param keys    Pairs of keys used in the pattern and the items they stand for
+	 * @return this {@link RecipeBatch}
+	 */
+	@SafeVarargs
+	public final RecipeBatch shaped(Identifier output, int count, String[] pattern, Pair<String, Identifier>... keys) {
+		JKeys jKeys = JKeys.keys();
+		for (Pair<String, Identifier> key : keys) {
+			jKeys.key(key.getLeft(), JIngredient.ingredient().item(key.getRight().toString()));
+		}
+		return add(output.getPath() + "_shaped", JRecipe.shaped(JPattern.pattern(pattern), jKeys, JResult.stackedResult(output.toString(), count)));
+	}
+	
+	/**
+	 * Add a shapeless recipe.
+	 *
+	 * @param output      The output item, such as "mymod:my_block"
+	 * @param count       The number of items in the output stack
+	 * @param ingredients The ingredients, once for each time they appear in the recipe
+	 * @return this {@link RecipeBatch}
+	 */
+	public RecipeBatch shapeless(Identifier output, int count, Identifier... ingredients) {
+		JIngredients jIngredients = JIngredients.ingredients();
+		for (Identifier ingredient : ingredients) {
+			jIngredients.add(JIngredient.ingredient().item(ingredient.toString()));
+		}
+		return add(output.getPath() + "_shapeless", JRecipe.shapeless(jIngredients, JResult.stackedResult(output.toString(), count)));
+	}
+	
+	/**
+	 * Add a single input recipe other than shaped and shapeless, such as smelting or stonecutting.
+	 *
+	 * @param type   The type of recipe
+	 * @param input  The input item, such as "minecraft:stone"
+	 * @param output The output item, such as "mymod:my_block"
+	 * @param count  The number of items in the output stack
+	 * @return this {@link RecipeBatch}
+	 */
+	public RecipeBatch cooking(RecipeTypes type, Identifier input, Identifier output, int count) {
+		JIngredient ingredient = JIngredient.ingredient().item(input.toString());
+		JResult result = JResult.stackedResult(output.toString(), count);
+		String name = output.getPath() + "_" + type.name().toLowerCase(Locale.ROOT);
+		switch (type) {
+			case SMELTING:
+				return add(name, JRecipe.smelting(ingredient, result));
+			case BLASTING:
+				return add(name, JRecipe.blasting(ingredient, result));
+			case SMOKING:
+				return add(name, JRecipe.smoking(ingredient, result));
+			case CAMPFIRE:
+				return add(name, JRecipe.campfire(ingredient, result));
+			case STONECUTTING:
+				return add(name, JRecipe.stonecutting(ingredient, result));
+			default:
+				throw new RuntimeException("Unknown cooking recipe type. Report this!");
+		}
+	}
+	
+	/**
+	 * Add all recipes in this batch to the registrate.
+	 */
+	public void register() {
+		for (Pair<String, JRecipe> recipe : recipes) {
+			owner.addRecipe(recipe.getLeft(), recipe.getRight());
+		}
+		recipes.clear();
+	}
+}
@@ -0,0 +1,184 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.item.ItemConvertible;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.InvalidIdentifierException;
+import net.minecraft.util.registry.Registry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of generated recipes by output item, input item and recipe type, so that code looking for the recipes of its own items need not scan every recipe
+ * the game knows about.
+ * <p>
+ * Recipes are only parsed and indexed on the first lookup after they were added, so that nothing is parsed if the index is never used.
+ * <p>
+ * The index holds recipe ids, which can be resolved in constant time with {@link net.minecraft.recipe.RecipeManager#get(Identifier)}. Only recipes generated by
+ * the owning registrate are indexed. Inputs which are tags are not indexed.
+ */
+public class RecipeIndex {
+	private static final String[] INPUT_KEYS = {"ingredient", "ingredients", "key", "base", "addition"};
+	
+	// Only touched while holding the lock
+	private final Map<Identifier, List<Identifier>> byOutput = new HashMap<>();
+	private final Map<Identifier, List<Identifier>> byInput = new HashMap<>();
+	private final Map<Identifier, List<Identifier>> byType = new HashMap<>();
+	private final List<Identifier> pendingIds = new ArrayList<>();
+	private final List<byte[]> pendingData = new ArrayList<>();
+	private volatile boolean dirty;
+	// Rebuilt from the maps above after indexing, so that lookups read it without the lock
+	private volatile Snapshot snapshot = new Snapshot(ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of());
+	
+	/**
+	 * Add a recipe to the index, which is parsed on the next lookup.
+	 *
+	 * @param id   The id of the recipe
+	 * @param data The serialized recipe
+	 */
+	public synchronized void add(Identifier id, byte[] data) {
+		pendingIds.add(id);
+		pendingData.add(data);
+		dirty = true;
+	}
+	
+	private synchronized Snapshot indexPending() {
+		if (!dirty) {
+			// Indexed by another thread while this one waited for the lock
+			return snapshot;
+		}
+		for (int i = 0; i < pendingIds.size(); i++) {
+			index(pendingIds.get(i), PrebuiltData.parse(pendingData.get(i)));
+		}
+		pendingIds.clear();
+		pendingData.clear();
+		Snapshot ret = new Snapshot(copy(byOutput), copy(byInput), copy(byType));
+		snapshot = ret;
+		dirty = false;
+		return ret;
+	}
+	
+	private Snapshot getSnapshot() {
+		return dirty ? indexPending() : snapshot;
+	}
+	
+	private static ImmutableMap<Identifier, ImmutableList<Identifier>> copy(Map<Identifier, List<Identifier>> index) {
+		ImmutableMap.Builder<Identifier, ImmutableList<Identifier>> ret = ImmutableMap.builder();
+		index.forEach((key, ids) -> ret.put(key, ImmutableList.copyOf(ids)));
+		return ret.build();
+	}
+	
+	private void index(Identifier id, JsonElement recipe) {
+		if (!recipe.isJsonObject()) {
+			return;
+		}
+		JsonObject json = recipe.getAsJsonObject();
+		if (json.has("type")) {
+			put(byType, json.get("type").getAsString(), id);
+		}
+		JsonElement result = json.get("result");
+		if (result != null) {
+			if (result.isJsonPrimitive()) {
+				put(byOutput, result.getAsString(), id);
+			} else if (result.isJsonObject() && result.getAsJsonObject().has("item")) {
+				put(byOutput, result.getAsJsonObject().get("item").getAsString(), id);
+			}
+		}
+		Set<String> inputs = new LinkedHashSet<>();
+		for (String key : INPUT_KEYS) {
+			if (json.has(key)) {
+				collectItems(json.get(key), inputs);
+			}
+		}
+		for (String input : inputs) {
+			put(byInput, input, id);
+		}
+	}
+	
+	/**
+	 * @param item The output item, such as "mymod:my_block"
+	 * @return The ids of all recipes which make the given item
+	 */
+	public List<Identifier> getByOutput(Identifier item) {
+		return get(getSnapshot().byOutput, item);
+	}
+	
+	/**
+	 * @param item The output item
+	 * @return The ids of all recipes which make the given item
+	 */
+	public List<Identifier> getByOutput(ItemConvertible item) {
+		return getByOutput(Registry.ITEM.getId(item.asItem()));
+	}
+	
+	/**
+	 * @param item The input item, such as "minecraft:stone"
+	 * @return The ids of all recipes which use the given item
+	 */
+	public List<Identifier> getByInput(Identifier item) {
+		return get(getSnapshot().byInput, item);
+	}
+	
+	/**
+	 * @param item The input item
+	 * @return The ids of all recipes which use the given item
+	 */
+	public List<Identifier> getByInput(ItemConvertible item) {
+		return getByInput(Registry.ITEM.getId(item.asItem()));
+	}
+	
+	/**
+	 * @param type The recipe type, such as "minecraft:smelting"
+	 * @return The ids of all recipes of the given type
+	 */
+	public List<Identifier> getByType(Identifier type) {
+		return get(getSnapshot().byType, type);
+	}
+	
+	private static List<Identifier> get(ImmutableMap<Identifier, ImmutableList<Identifier>> index, Identifier key) {
+		return index.getOrDefault(key, ImmutableList.of());
+	}
+	
+	private static void put(Map<Identifier, List<Identifier>> index, String key, Identifier id) {
+		try {
+			index.computeIfAbsent(new Identifier(key), $ -> new ArrayList<>(1)).add(id);
+		} catch (InvalidIdentifierException e) {
+			RegistrARRP.LOGGER.warn("Recipe {} refers to invalid id {}", id, key);
+		}
+	}
+	
+	private static void collectItems(JsonElement json, Set<String> out) {
+		if (json.isJsonArray()) {
+			json.getAsJsonArray().forEach(element -> collectItems(element, out));
+		} else if (json.isJsonObject()) {
+			JsonObject object = json.getAsJsonObject();
+			if (object.has("item") && object.get("item").isJsonPrimitive()) {
+				out.add(object.get("item").getAsString());
+			} else {
+				// Shaped recipe keys, such as {"X": {"item": ...}}
+				object.entrySet().forEach(entry -> collectItems(entry.getValue(), out));
+			}
+		}
+	}
+	
+	// Immutable, so that it is safely published by its final fields
+	private static final class Snapshot {
+		private final ImmutableMap<Identifier, ImmutableList<Identifier>> byOutput;
+		private final ImmutableMap<Identifier, ImmutableList<Identifier>> byInput;
+		private final ImmutableMap<Identifier, ImmutableList<Identifier>> byType;
+		
+		Snapshot(ImmutableMap<Identifier, ImmutableList<Identifier>> byOutput, ImmutableMap<Identifier, ImmutableList<Identifier>> byInput, ImmutableMap<Identifier, ImmutableList<Identifier>> byType) {
+			this.byOutput = byOutput;
+			this.byInput = byInput;
+			this.byType = byType;
+		}
+	}
+}
@@ -17,11 +17,17 @@ public class RegistryObject<T> implements Supplier<T> {
 	private static final RegistryObject<?> EMPTY = new RegistryObject<>();
 	
 	private final Identifier id;
+	// Objects are equal if they have the same registry and id, so only those two go into the hash
+	@Nullable
+	private final Registry<?> registry;
+	private final int hash;
 	@Nullable
 	private T object;
 	
 	private RegistryObject() {
 		id = null;
+		registry = null;
+		hash = 0;
 	}
 	
 	private RegistryObject(Identifier id, Class<? super T> registryType) {
@@ -32,6 +38,8 @@ public class RegistryObject<T> implements Supplier<T> {
 	private RegistryObject(Identifier id, Registry<? super T> registry) {
 		Objects.requireNonNull(registry);
 		this.id = id;
+		this.registry = registry;
+		this.hash = 31 * id.hashCode() + System.identityHashCode(registry);
 		object = (T) registry.get(this.id);
 	}
 	
@@ -51,7 +59,10 @@ public class RegistryObject<T> implements Supplier<T> {
 	@Override
 	@NotNull
 	public T get() {
-		Objects.requireNonNull(object);
+		T object = this.object;
+		if (object == null) {
+			throw new NullPointerException("Registry object not present: " + id);
+		}
 		return object;
 	}
 	
@@ -108,7 +119,8 @@ public class RegistryObject<T> implements Supplier<T> {
 	}
 	
 	public T orElse(T other) {
-		return isPresent() ? get() : other;
+		T object = this.object;
+		return object != null ? object : other;
 	}
 	
 	public T orElseGet(Supplier<? extends T> other) {
@@ -126,13 +138,14 @@ public class RegistryObject<T> implements Supplier<T> {
 	public boolean equals(Object obj) {
 		if (this == obj) return true;
 		if (obj instanceof RegistryObject) {
-			return Objects.equals(((RegistryObject<?>) obj).id, id);
+			RegistryObject<?> other = (RegistryObject<?>) obj;
+			return hash == other.hash && registry == other.registry && Objects.equals(other.id, id);
 		}
 		return false;
 	}
 	
 	@Override
 	public int hashCode() {
-		return Objects.hashCode(id);
+		return hash;
 	}
 }
@@ -0,0 +1,245 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonObject;
+import net.minecraft.SharedConstants;
+import net.minecraft.resource.ResourcePack;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes the contents of an {@link IndexedResourcePack} to disk, either as loose files in the same layout as a regular resource pack, or as a single zip (see {@link Format}).
+ * <p>
+ * Dumps are incremental. A manifest of each written path and the hash of its contents is kept next to the dumped files, so that on the next dump only files
+ * whose contents changed are rewritten, and files which are no longer generated are deleted.
+ * <p>
+ * Several packs may be dumped to the same directory. Each is written to its own subdirectory, or its own zip, named after the pack, so that packs with files of
+ * the same path, such as a shared {@code minecraft} tag, never overwrite or skip each other's copies.
+ */
+public class ResourcePackDumper {
+	private static final String MANIFEST_PREFIX = ".registrarrp_manifest_";
+	private static final HashFunction HASH = Hashing.murmur3_128();
+	// Single thread, so that dumps to the same directory never interleave
+	private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+			.setNameFormat("RegistrARRP Resource Dump")
+			.setDaemon(true)
+			.build());
+	
+	/**
+	 * Dump the given pack on a background thread.
+	 *
+	 * @param pack The pack to dump
+	 * @param dir  The directory to dump into. The pack is written to a subdirectory named after it.
+	 * @return A {@link CompletableFuture} which completes once the dump has finished
+	 */
+	public static CompletableFuture<Void> dumpAsync(IndexedResourcePack pack, Path dir) {
+		return dumpAsync(pack, dir, Format.DIRECTORY);
+	}
+	
+	/**
+	 * Dump the given pack on a background thread.
+	 *
+	 * @param pack   The pack to dump
+	 * @param dir    The directory to dump into. The pack is written to a subdirectory or zip named after it.
+	 * @param format The {@link Format} to dump as
+	 * @return A {@link CompletableFuture} which completes once the dump has finished
+	 */
+	public static CompletableFuture<Void> dumpAsync(IndexedResourcePack pack, Path dir, Format format) {
+		return CompletableFuture.runAsync(() -> {
+			if (format == Format.ZIP) {
+				dumpZip(pack, dir.resolve(getFileName(pack) + ".zip"));
+			} else {
+				dump(pack, dir);
+			}
+		}, EXECUTOR).whenComplete(($, ex) -> {
+			if (ex != null) {
+				RegistrARRP.LOGGER.error("Failed to dump resource pack " + pack.getName() + " to " + dir, ex);
+			}
+		});
+	}
+	
+	/**
+	 * Dump the given pack on the current thread.
+	 *
+	 * @param pack   The pack to dump
+	 * @param parent The directory to dump into. The pack is written to a subdirectory named after it.
+	 */
+	public static void dump(IndexedResourcePack pack, Path parent) {
+		Map<String, byte[]> files = collect(pack);
+		Path dir = parent.resolve(getFileName(pack));
+		Path manifestPath = dir.resolve(MANIFEST_PREFIX + getFileName(pack));
+		Map<String, String> oldManifest = readManifest(manifestPath);
+		Map<String, String> newManifest = new TreeMap<>();
+		int written = 0;
+		try {
+			for (Map.Entry<String, byte[]> file : files.entrySet()) {
+				String hash = HASH.hashBytes(file.getValue()).toString();
+				newManifest.put(file.getKey(), hash);
+				Path path = dir.resolve(file.getKey());
+				if (hash.equals(oldManifest.get(file.getKey())) && Files.isRegularFile(path)) {
+					continue;
+				}
+				Files.createDirectories(path.getParent());
+				Files.write(path, file.getValue());
+				written++;
+			}
+			int deleted = 0;
+			for (String stale : oldManifest.keySet()) {
+				if (!newManifest.containsKey(stale) && Files.deleteIfExists(dir.resolve(stale))) {
+					deleted++;
+				}
+			}
+			// Written last, so an interrupted dump is simply redone next time
+			writeManifest(manifestPath, newManifest);
+			RegistrARRP.LOGGER.info("Dumped {}: {} files, {} written, {} deleted", pack.getName(), files.size(), written, deleted);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Dump the given pack on the current thread, as a single uncompressed zip with a {@code pack.mcmeta}, so that it can be shipped and loaded as a regular pack.
+	 * <p>
+	 * Entries are sorted and carry no timestamps, so the same contents always produce the same file. If the contents have not changed since the last dump, the
+	 * existing zip is left untouched.
+	 *
+	 * @param pack    The pack to dump
+	 * @param zipFile The zip file to write
+	 */
+	public static void dumpZip(IndexedResourcePack pack, Path zipFile) {
+		Map<String, byte[]> files = collect(pack);
+		files.put("pack.mcmeta", createMetadata(pack));
+		Hasher hasher = HASH.newHasher();
+		files.forEach((path, data) -> hasher.putString(path, StandardCharsets.UTF_8).putBytes(data));
+		String hash = hasher.hash().toString();
+		Path manifestPath = zipFile.resolveSibling(MANIFEST_PREFIX + zipFile.getFileName());
+		Map<String, String> manifest = readManifest(manifestPath);
+		if (hash.equals(manifest.get(zipFile.getFileName().toString())) && Files.isRegularFile(zipFile)) {
+			RegistrARRP.LOGGER.info("Dumped {}: {} files, unchanged", pack.getName(), files.size());
+			return;
+		}
+		try {
+			Files.createDirectories(zipFile.getParent());
+			// Write to a temporary file first, so the zip is never seen half-written
+			Path temp = zipFile.resolveSibling(zipFile.getFileName() + ".tmp");
+			try (OutputStream out = Files.newOutputStream(temp); ZipOutputStream zip = new ZipOutputStream(out)) {
+				CRC32 crc = new CRC32();
+				for (Map.Entry<String, byte[]> file : files.entrySet()) {
+					byte[] data = file.getValue();
+					crc.reset();
+					crc.update(data);
+					ZipEntry entry = new ZipEntry(file.getKey());
+					entry.setMethod(ZipEntry.STORED);
+					entry.setSize(data.length);
+					entry.setCompressedSize(data.length);
+					entry.setCrc(crc.getValue());
+					entry.setTime(0);
+					zip.putNextEntry(entry);
+					zip.write(data);
+					zip.closeEntry();
+				}
+			}
+			Files.move(temp, zipFile, StandardCopyOption.REPLACE_EXISTING);
+			manifest.clear();
+			manifest.put(zipFile.getFileName().toString(), hash);
+			writeManifest(manifestPath, manifest);
+			RegistrARRP.LOGGER.info("Dumped {}: {} files to {}", pack.getName(), files.size(), zipFile);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Read every resource in the given pack.
+	 *
+	 * @param pack The pack to read
+	 * @return A sorted map of pack-relative paths, such as {@code assets/mymod/models/block/my_block.json}, to file contents
+	 */
+	public static Map<String, byte[]> collect(IndexedResourcePack pack) {
+		Map<String, byte[]> files = new TreeMap<>();
+		for (ResourceType type : ResourceType.values()) {
+			for (Identifier id : pack.getAllResources(type)) {
+				try (InputStream stream = pack.open(type, id)) {
+					files.put(type.getDirectory() + "/" + id.getNamespace() + "/" + id.getPath(), ByteStreams.toByteArray(stream));
+				} catch (IOException e) {
+					throw new UncheckedIOException("Could not read resource " + id + " from " + pack.getName(), e);
+				}
+			}
+		}
+		return files;
+	}
+	
+	private static byte[] createMetadata(ResourcePack pack) {
+		JsonObject meta = new JsonObject();
+		meta.addProperty("pack_format", SharedConstants.getGameVersion().getPackVersion());
+		meta.addProperty("description", pack.getName());
+		JsonObject root = new JsonObject();
+		root.add("pack", meta);
+		return root.toString().getBytes(StandardCharsets.UTF_8);
+	}
+	
+	private static String getFileName(ResourcePack pack) {
+		return pack.getName().replaceAll("[^a-z0-9_.-]", "_");
+	}
+	
+	private static Map<String, String> readManifest(Path manifestPath) {
+		Map<String, String> ret = new HashMap<>();
+		if (!Files.isRegularFile(manifestPath)) {
+			return ret;
+		}
+		try {
+			for (String line : Files.readAllLines(manifestPath, StandardCharsets.UTF_8)) {
+				int split = line.indexOf('\t');
+				if (split > 0) {
+					ret.put(line.substring(0, split), line.substring(split + 1));
+				}
+			}
+		} catch (IOException e) {
+			RegistrARRP.LOGGER.warn("Could not read dump manifest " + manifestPath + ", all files will be rewritten", e);
+			ret.clear();
+		}
+		return ret;
+	}
+	
+	private static void writeManifest(Path manifestPath, Map<String, String> manifest) throws IOException {
+		List<String> lines = new ArrayList<>(manifest.size());
+		manifest.forEach((path, hash) -> lines.add(path + "\t" + hash));
+		Files.createDirectories(manifestPath.getParent());
+		Files.write(manifestPath, lines, StandardCharsets.UTF_8);
+	}
+	
+	public enum Format {
+		/**
+		 * Loose files, in the same layout as a regular resource pack.
+		 */
+		DIRECTORY,
+		/**
+		 * A single uncompressed zip. One indexed file loads much faster than thousands of small ones, especially on slow disks.
+		 */
+		ZIP
+	}
+}
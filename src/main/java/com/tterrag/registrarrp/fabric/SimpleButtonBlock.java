@@ -0,0 +1,32 @@
+package com.tterrag.registrarrp.fabric;
+
+import net.minecraft.block.AbstractButtonBlock;
+import net.minecraft.sound.SoundEvent;
+import net.minecraft.sound.SoundEvents;
+
+// The constructors of StoneButtonBlock and WoodenButtonBlock are protected, so this covers both
+public class SimpleButtonBlock extends AbstractButtonBlock {
+	// AbstractButtonBlock keeps its own copy private
+	private final boolean wooden;
+	
+	public SimpleButtonBlock(Settings settings) {
+		this(false, settings);
+	}
+	
+	/**
+	 * @param wooden   {@code true} for a wooden button, which stays pressed longer and can be pressed by arrows
+	 * @param settings The block settings
+	 */
+	public SimpleButtonBlock(boolean wooden, Settings settings) {
+		super(wooden, settings);
+		this.wooden = wooden;
+	}
+	
+	@Override
+	protected SoundEvent getClickSound(boolean powered) {
+		if (wooden) {
+			return powered ? SoundEvents.BLOCK_WOODEN_BUTTON_CLICK_ON : SoundEvents.BLOCK_WOODEN_BUTTON_CLICK_OFF;
+		}
+		return powered ? SoundEvents.BLOCK_STONE_BUTTON_CLICK_ON : SoundEvents.BLOCK_STONE_BUTTON_CLICK_OFF;
+	}
+}
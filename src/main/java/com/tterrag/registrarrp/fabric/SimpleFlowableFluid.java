@@ -32,6 +32,9 @@ public abstract class SimpleFlowableFluid extends FlowableFluid {
 	private final int levelDecreasePerBlock;
 	private final float blastResistance;
 	private final int tickRate;
+	// Direct references to the above, set once by resolveReferences() so that fluid ticks need not call suppliers
+	@Nullable
+	private volatile References references;
 	
 	protected SimpleFlowableFluid(Properties properties) {
 		this.flowing = properties.flowing;
@@ -45,14 +48,25 @@ public abstract class SimpleFlowableFluid extends FlowableFluid {
 		this.tickRate = properties.tickRate;
 	}
 	
+	/**
+	 * Replace the suppliers given in the {@link Properties} with the objects they supply. Must only be called once the fluids, block and bucket have all been
+	 * registered, which {@link com.tterrag.registrarrp.builders.FluidBuilder FluidBuilder} does once its items are registered.
+	 */
+	public void resolveReferences() {
+		references = new References(flowing.get(), still.get(), bucket != null ? bucket.get() : Items.AIR, block != null ? block.get() : null);
+	}
+	
+	// Until resolveReferences() is called, such as while the fluid block is being constructed, the getters read the suppliers directly
 	@Override
 	public Fluid getFlowing() {
-		return flowing.get();
+		References references = this.references;
+		return references != null ? references.flowing : flowing.get();
 	}
 	
 	@Override
 	public Fluid getStill() {
-		return still.get();
+		References references = this.references;
+		return references != null ? references.still : still.get();
 	}
 	
 	@Override
@@ -78,6 +92,10 @@ public abstract class SimpleFlowableFluid extends FlowableFluid {
 	
 	@Override
 	public Item getBucketItem() {
+		References references = this.references;
+		if (references != null) {
+			return references.bucket;
+		}
 		return bucket != null ? bucket.get() : Items.AIR;
 	}
 	
@@ -98,15 +116,33 @@ public abstract class SimpleFlowableFluid extends FlowableFluid {
 	
 	@Override
 	protected BlockState toBlockState(FluidState state) {
+		References references = this.references;
+		FluidBlock block = references != null ? references.block : this.block != null ? this.block.get() : null;
 		if (block != null) {
-			return block.get().getDefaultState().with(FluidBlock.LEVEL, method_15741(state));
+			return block.getDefaultState().with(FluidBlock.LEVEL, method_15741(state));
 		}
 		return Blocks.AIR.getDefaultState();
 	}
 	
 	@Override
 	public boolean matchesType(Fluid fluid) {
-		return fluid == still.get() || fluid == flowing.get();
+		return fluid == getStill() || fluid == getFlowing();
+	}
+	
+	// Immutable, so that it is safely published by its final fields
+	private static final class References {
+		private final Fluid flowing;
+		private final Fluid still;
+		private final Item bucket;
+		@Nullable
+		private final FluidBlock block;
+		
+		References(Fluid flowing, Fluid still, Item bucket, @Nullable FluidBlock block) {
+			this.flowing = flowing;
+			this.still = still;
+			this.bucket = bucket;
+			this.block = block;
+		}
 	}
 	
 	public static class Flowing extends SimpleFlowableFluid {
@@ -169,12 +205,12 @@ public abstract class SimpleFlowableFluid extends FlowableFluid {
 			return this;
 		}
 		
-		public Properties bucket(Supplier<? extends Item> bucket) {
+		public Properties bucket(@Nullable Supplier<? extends Item> bucket) {
 			this.bucket = bucket;
 			return this;
 		}
 		
-		public Properties block(Supplier<? extends FluidBlock> block) {
+		public Properties block(@Nullable Supplier<? extends FluidBlock> block) {
 			this.block = block;
 			return this;
 		}
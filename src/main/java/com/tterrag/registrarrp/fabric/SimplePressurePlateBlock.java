@@ -0,0 +1,10 @@
+package com.tterrag.registrarrp.fabric;
+
+import net.minecraft.block.PressurePlateBlock;
+
+// PressurePlateBlock's constructor is protected
+public class SimplePressurePlateBlock extends PressurePlateBlock {
+	public SimplePressurePlateBlock(ActivationRule type, Settings settings) {
+		super(type, settings);
+	}
+}
@@ -0,0 +1,11 @@
+package com.tterrag.registrarrp.fabric;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.StairsBlock;
+
+// StairsBlock's constructor is protected
+public class SimpleStairsBlock extends StairsBlock {
+	public SimpleStairsBlock(BlockState baseBlockState, Settings settings) {
+		super(baseBlockState, settings);
+	}
+}
@@ -0,0 +1,28 @@
+package com.tterrag.registrarrp.mixin;
+
+import com.google.gson.JsonElement;
+import com.tterrag.registrarrp.fabric.PrebuiltData;
+import net.minecraft.resource.JsonDataLoader;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.Map;
+
+@Mixin(JsonDataLoader.class)
+public class JsonDataLoaderMixin {
+	@Shadow
+	@Final
+	private String dataType;
+
+	@Inject(at = @At("RETURN"), method = "prepare(Lnet/minecraft/resource/ResourceManager;Lnet/minecraft/util/profiler/Profiler;)Ljava/util/Map;")
+	private void onPrepare(ResourceManager manager, Profiler profiler, CallbackInfoReturnable<Map<Identifier, JsonElement>> cir) {
+		PrebuiltData.addTo(manager, dataType, cir.getReturnValue());
+	}
+}
@@ -0,0 +1,10 @@
+package com.tterrag.registrarrp.util;
+
+public enum BlockFamilyTypes {
+	STAIRS,
+	SLAB,
+	WALL,
+	FENCE,
+	BUTTON,
+	PRESSURE_PLATE
+}
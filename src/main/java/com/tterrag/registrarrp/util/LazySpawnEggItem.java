@@ -35,6 +35,9 @@ import java.util.Objects;
 public class LazySpawnEggItem<T extends Entity> extends SpawnEggItem {
 	
 	private final NonNullSupplier<EntityType<T>> typeIn;
+	// Set by injectType(), once the entity type has been registered
+	@Nullable
+	private EntityType<T> type;
 	
 	public LazySpawnEggItem(final NonNullSupplier<EntityType<T>> type, int primaryColor, int secondaryColor, Settings properties) {
 		super(null, primaryColor, secondaryColor, properties);
@@ -43,7 +46,8 @@ public class LazySpawnEggItem<T extends Entity> extends SpawnEggItem {
 	}
 	
 	public void injectType() {
-		SpawnEggItemAccessor.getEggMap().put(typeIn.get(), this);
+		type = typeIn.get();
+		SpawnEggItemAccessor.getEggMap().put(type, this);
 	}
 	
 	public EntityType<?> getEntityType(@Nullable CompoundTag p_208076_1_) {
@@ -51,7 +55,8 @@ public class LazySpawnEggItem<T extends Entity> extends SpawnEggItem {
 			return super.getEntityType(p_208076_1_);
 		}
 		
-		return this.typeIn.get();
+		EntityType<T> type = this.type;
+		return type != null ? type : this.typeIn.get();
 	}
 	
 	public ActionResult useOnBlock(ItemUsageContext context) {
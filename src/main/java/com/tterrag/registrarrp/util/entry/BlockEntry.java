@@ -2,10 +2,20 @@ package com.tterrag.registrarrp.util.entry;
 
 import com.tterrag.registrarrp.AbstractRegistrate;
 import com.tterrag.registrarrp.fabric.RegistryObject;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 public class BlockEntry<T extends Block> extends ItemProviderEntry<T> {
+	// Built by freeze() once the block is registered, or by the first lookup before then
+	@Nullable
+	private volatile Palette<T> palette;
 	
 	public BlockEntry(AbstractRegistrate<?> owner, RegistryObject<T> delegate) {
 		super(owner, delegate);
@@ -15,11 +25,104 @@ public class BlockEntry<T extends Block> extends ItemProviderEntry<T> {
 		return RegistryEntry.cast(BlockEntry.class, entry);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Additionally precomputes the block's states, so that they can be looked up by index.
+	 */
+	@Override
+	public void freeze() {
+		super.freeze();
+		T block = getUnchecked();
+		palette = block == null ? null : new Palette<>(block);
+	}
+	
+	@Override
+	public void updateReference(Registry<? super T> registry) {
+		// The block may be replaced, so drop any palette built from the old one
+		palette = null;
+		super.updateReference(registry);
+	}
+	
 	public BlockState getDefaultState() {
-		return get().getDefaultState();
+		Palette<T> palette = this.palette;
+		return palette != null ? palette.defaultState : get().getDefaultState();
 	}
 	
 	public boolean has(BlockState state) {
-		return is(state.getBlock());
+		Palette<T> palette = this.palette;
+		return palette != null ? state.getBlock() == palette.block : is(state.getBlock());
+	}
+	
+	/**
+	 * @return The number of states of the block
+	 */
+	public int getStateCount() {
+		return getPalette().states.length;
+	}
+	
+	/**
+	 * @param index The index of the state, from 0 to {@link #getStateCount()}
+	 * @return The state at the given index, in the order of {@link net.minecraft.state.StateManager#getStates()}
+	 */
+	public BlockState getState(int index) {
+		return getPalette().states[index];
+	}
+	
+	/**
+	 * @param state A state of any block
+	 * @return The index of the state, for use with {@link #getState(int)}, or -1 if it is not a state of this block
+	 */
+	public int getStateIndex(BlockState state) {
+		return getPalette().stateIndices.getInt(state);
+	}
+	
+	/**
+	 * @param property A property of any block
+	 * @return The index of the property in {@link net.minecraft.state.StateManager#getProperties()}, or -1 if the block does not have it
+	 */
+	public int getPropertyIndex(Property<?> property) {
+		return getPalette().propertyIndices.getInt(property);
+	}
+	
+	private Palette<T> getPalette() {
+		Palette<T> palette = this.palette;
+		if (palette == null) {
+			synchronized (this) {
+				palette = this.palette;
+				if (palette == null) {
+					palette = new Palette<>(get());
+					this.palette = palette;
+				}
+			}
+		}
+		return palette;
+	}
+	
+	// Immutable, so that it is safely published by its final fields
+	private static final class Palette<T extends Block> {
+		private final T block;
+		private final BlockState defaultState;
+		private final BlockState[] states;
+		private final Reference2IntMap<BlockState> stateIndices;
+		private final Reference2IntMap<Property<?>> propertyIndices;
+		
+		Palette(T block) {
+			this.block = block;
+			this.defaultState = block.getDefaultState();
+			List<BlockState> states = block.getStateManager().getStates();
+			this.states = states.toArray(new BlockState[0]);
+			this.stateIndices = new Reference2IntOpenHashMap<>(this.states.length);
+			this.stateIndices.defaultReturnValue(-1);
+			for (int i = 0; i < this.states.length; i++) {
+				this.stateIndices.put(this.states[i], i);
+			}
+			this.propertyIndices = new Reference2IntOpenHashMap<>();
+			this.propertyIndices.defaultReturnValue(-1);
+			int i = 0;
+			for (Property<?> property : block.getStateManager().getProperties()) {
+				this.propertyIndices.put(property, i++);
+			}
+		}
 	}
 }
@@ -0,0 +1,224 @@
+package com.tterrag.registrarrp.util.entry;
+
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-entry data for the entries of one registry type, such as a speed for each machine block, stored in plain arrays rather than a map.
+ * <p>
+ * Values are looked up by the index the registrate gave the entry, or by raw id when only the object is at hand. Values may be added at any time, but the
+ * arrays are only allocated once the registrate has registered every entry of the type, and until then lookups are slower.
+ * <p>
+ * A simple use may look like:
+ *
+ * <pre>
+ * {@code
+ * public static final EntryAttachment<Block, Integer> SPEEDS = REGISTRATE.attachment(Block.class);
+ *
+ * ...
+ *
+ * SPEEDS.put(MY_MACHINE, 4);
+ * int speed = SPEEDS.getOrDefault(state.getBlock(), 1);
+ * }
+ * </pre>
+ *
+ * @param <R> The type of the registry
+ * @param <V> The type of the values
+ * @see com.tterrag.registrarrp.AbstractRegistrate#attachment(Class)
+ */
+public final class EntryAttachment<R, V> {
+	private final Registry<R> registry;
+	private final AtomicInteger remapGeneration;
+	// Holds values until the arrays are allocated
+	@Nullable
+	private Map<RegistryEntry<? extends R>, V> pending = new LinkedHashMap<>();
+	// Entries by index, including any registered after the arrays were allocated
+	@Nullable
+	private List<RegistryEntry<? extends R>> entries;
+	@Nullable
+	private volatile Object[] byIndex;
+	@Nullable
+	private volatile RawIdIndex byRawId;
+	
+	public EntryAttachment(Registry<R> registry) {
+		this(registry, RemapGenerations.of(registry));
+	}
+	
+	// Also used by tests, which cannot listen for remaps without Fabric's mixins
+	EntryAttachment(Registry<R> registry, AtomicInteger remapGeneration) {
+		this.registry = registry;
+		this.remapGeneration = remapGeneration;
+	}
+	
+	/**
+	 * Allocate the arrays. Called by the registrate once every entry of the type has been registered.
+	 *
+	 * @param entries All entries of the type. They are placed by {@link RegistryEntry#getIndex()}, whatever the order of the list.
+	 */
+	public synchronized void allocate(RegistryEntryList<R> entries) {
+		List<RegistryEntry<? extends R>> byEntryIndex = new ArrayList<>(Collections.nCopies(entries.size(), null));
+		for (RegistryEntry<R> entry : entries) {
+			place(byEntryIndex, entry);
+		}
+		Map<RegistryEntry<? extends R>, V> pending = this.pending;
+		if (pending != null) {
+			// Values may have been put for entries missing from the list, so make room for them as well
+			pending.keySet().forEach(entry -> place(byEntryIndex, entry));
+		}
+		Object[] byIndex = new Object[byEntryIndex.size()];
+		if (pending != null) {
+			pending.forEach((entry, value) -> byIndex[entry.getIndex()] = value);
+			this.pending = null;
+		}
+		this.entries = byEntryIndex;
+		this.byIndex = byIndex;
+		this.byRawId = null;
+	}
+	
+	private static <R> void place(List<RegistryEntry<? extends R>> byEntryIndex, RegistryEntry<? extends R> entry) {
+		int index = checkIndex(entry);
+		while (byEntryIndex.size() <= index) {
+			byEntryIndex.add(null);
+		}
+		byEntryIndex.set(index, entry);
+	}
+	
+	/**
+	 * Set the value for an entry.
+	 *
+	 * @param entry The entry, which must belong to the registrate that created this attachment
+	 * @param value The value, or {@code null} to remove it
+	 * @throws IllegalArgumentException If the entry has no index, such as the empty entry
+	 */
+	public synchronized void put(RegistryEntry<? extends R> entry, @Nullable V value) {
+		int index = checkIndex(entry);
+		Object[] byIndex = this.byIndex;
+		if (byIndex == null) {
+			if (value == null) {
+				pending.remove(entry);
+			} else {
+				pending.put(entry, value);
+			}
+			return;
+		}
+		if (index < byIndex.length) {
+			byIndex[index] = value;
+		} else if (value != null) {
+			// Registered after the arrays were allocated, so grow them, filling in the value before the new array is published
+			Object[] grown = Arrays.copyOf(byIndex, index + 1);
+			grown[index] = value;
+			place(entries, entry);
+			this.byIndex = grown;
+		}
+		this.byRawId = null;
+	}
+	
+	/**
+	 * @param entry The entry, which must belong to the registrate that created this attachment
+	 * @return The value for the entry, or {@code null} if there is none
+	 * @throws IllegalArgumentException If the entry has no index, such as the empty entry
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V get(RegistryEntry<? extends R> entry) {
+		int index = checkIndex(entry);
+		Object[] byIndex = this.byIndex;
+		if (byIndex == null) {
+			synchronized (this) {
+				if (this.byIndex == null) {
+					return pending.get(entry);
+				}
+				byIndex = this.byIndex;
+			}
+		}
+		return index < byIndex.length ? (V) byIndex[index] : null;
+	}
+	
+	private static int checkIndex(RegistryEntry<?> entry) {
+		int index = entry.getIndex();
+		if (index < 0) {
+			throw new IllegalArgumentException("Entry " + entry.getId() + " was not registered by a registrate, and cannot have attached values");
+		}
+		return index;
+	}
+	
+	/**
+	 * @param object The registered object, such as a block
+	 * @return The value for the object, or {@code null} if there is none
+	 */
+	@Nullable
+	public V get(R object) {
+		return getByRawId(registry.getRawId(object));
+	}
+	
+	/**
+	 * @param object       The registered object, such as a block
+	 * @param defaultValue The value to return if there is none for the object
+	 * @return The value for the object, or the default value if there is none
+	 */
+	public V getOrDefault(R object, V defaultValue) {
+		V ret = get(object);
+		return ret == null ? defaultValue : ret;
+	}
+	
+	/**
+	 * @param rawId The raw id of the object, as returned by {@link Registry#getRawId(Object)}
+	 * @return The value for the object, or {@code null} if there is none
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public V getByRawId(int rawId) {
+		RawIdIndex byRawId = this.byRawId;
+		int generation = remapGeneration.get();
+		if (byRawId == null || byRawId.generation != generation) {
+			byRawId = buildRawIdIndex(generation);
+		}
+		Object[] values = byRawId.values;
+		return rawId >= 0 && rawId < values.length ? (V) values[rawId] : null;
+	}
+	
+	private synchronized RawIdIndex buildRawIdIndex(int generation) {
+		Object[] byIndex = this.byIndex;
+		List<RegistryEntry<? extends R>> entries = this.entries;
+		if (byIndex == null || entries == null) {
+			// Not registered yet, so there are no raw ids to index
+			return new RawIdIndex(new Object[0], generation);
+		}
+		int[] rawIds = new int[byIndex.length];
+		int max = -1;
+		for (int i = 0; i < byIndex.length; i++) {
+			RegistryEntry<? extends R> entry = entries.get(i);
+			R object = entry == null ? null : entry.getUnchecked();
+			rawIds[i] = object == null ? -1 : registry.getRawId(object);
+			max = Math.max(max, rawIds[i]);
+		}
+		Object[] ret = new Object[max + 1];
+		for (int i = 0; i < byIndex.length; i++) {
+			if (rawIds[i] >= 0) {
+				ret[rawIds[i]] = byIndex[i];
+			}
+		}
+		RawIdIndex index = new RawIdIndex(ret, generation);
+		byRawId = index;
+		return index;
+	}
+	
+	// The values by raw id along with the remap generation they were indexed for
+	private static final class RawIdIndex {
+		private final Object[] values;
+		private final int generation;
+		
+		RawIdIndex(Object[] values, int generation) {
+			this.values = values;
+			this.generation = generation;
+		}
+	}
+}
@@ -6,22 +6,13 @@ import net.minecraft.block.Block;
 import net.minecraft.fluid.FlowableFluid;
 import net.minecraft.fluid.Fluid;
 import net.minecraft.item.Item;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 public class FluidEntry<T extends FlowableFluid> extends RegistryEntry<T> {
 	
-	private final @Nullable BlockEntry<? extends Block> block;
-	
 	public FluidEntry(AbstractRegistrate<?> owner, RegistryObject<T> delegate) {
 		super(owner, delegate);
-		BlockEntry<? extends Block> block = null;
-		try {
-			block = BlockEntry.cast(getSibling(Block.class));
-		} catch (IllegalArgumentException e) {
-		} // TODO add way to get entry optionally
-		this.block = block;
 	}
 	
 	@Override
@@ -36,7 +27,7 @@ public class FluidEntry<T extends FlowableFluid> extends RegistryEntry<T> {
 	
 	@SuppressWarnings({"unchecked", "null"})
 	<B extends Block> Optional<B> getBlock() {
-		return (Optional<B>) Optional.ofNullable(block).map(RegistryEntry::get);
+		return this.<Block, B>getOptionalSibling(Block.class).map(RegistryEntry::get);
 	}
 	
 	@SuppressWarnings({"unchecked", "null"})
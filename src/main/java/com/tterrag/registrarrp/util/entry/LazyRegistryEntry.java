@@ -5,8 +5,9 @@ import org.jetbrains.annotations.Nullable;
 
 public class LazyRegistryEntry<T> implements NonNullSupplier<T> {
 	
+	// Published the same way as in Lazy, as entries are read from worker threads
 	@Nullable
-	private NonNullSupplier<? extends RegistryEntry<? extends T>> supplier;
+	private volatile NonNullSupplier<? extends RegistryEntry<? extends T>> supplier;
 	@Nullable
 	private RegistryEntry<? extends T> value;
 	
@@ -16,10 +17,14 @@ public class LazyRegistryEntry<T> implements NonNullSupplier<T> {
 	
 	@Override
 	public T get() {
-		NonNullSupplier<? extends RegistryEntry<? extends T>> supplier = this.supplier;
-		if (supplier != null) {
-			this.value = supplier.get();
-			this.supplier = null;
+		if (this.supplier != null) {
+			synchronized (this) {
+				NonNullSupplier<? extends RegistryEntry<? extends T>> supplier = this.supplier;
+				if (supplier != null) {
+					this.value = supplier.get();
+					this.supplier = null;
+				}
+			}
 		}
 		return this.value.get();
 	}
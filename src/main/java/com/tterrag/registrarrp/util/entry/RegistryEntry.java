@@ -8,7 +8,9 @@ import com.tterrag.registrarrp.util.nullness.NonnullType;
 import net.minecraft.util.registry.Registry;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -21,6 +23,15 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 	private final AbstractRegistrate<?> owner;
 	@Nullable
 	private final RegistryObject<T> delegate;
+	// Set once registration is complete, so that get() is a single field load. Volatile so that worker threads see the value the registration thread froze,
+	// which costs no more than a plain load on x86
+	@Nullable
+	private volatile T frozen;
+	private final int hash;
+	private int index = -1;
+	// Shared by all entries of the same name in the same registrate, keyed by registry type
+	@Nullable
+	private Map<Class<?>, RegistryEntry<?>> siblings;
 	
 	@SuppressWarnings("unused")
 	public RegistryEntry(AbstractRegistrate<?> owner, RegistryObject<T> delegate) {
@@ -28,6 +39,7 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 		if (EMPTY != null && delegate == null) throw new NullPointerException("Delegate must not be null");
 		this.owner = owner;
 		this.delegate = delegate;
+		this.hash = delegate == null ? 43 : delegate.hashCode();
 	}
 	
 	public static <T> RegistryEntry<T> empty() {
@@ -53,6 +65,45 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 	public void updateReference(Registry<? super T> registry) {
 		RegistryObject<T> delegate = this.delegate;
 		Objects.requireNonNull(delegate, "Registry entry is empty").updateReference(/*(Registry<? extends T>)*/ registry);
+		if (frozen != null) {
+			freeze();
+		}
+	}
+	
+	/**
+	 * @return The position of this entry among the entries of the same type in its registrate, or -1 for the empty entry
+	 * @see EntryAttachment
+	 */
+	public int getIndex() {
+		return index;
+	}
+	
+	/**
+	 * Set the position of this entry among the entries of the same type. Called by the registrate when the entry is created.
+	 *
+	 * @param index The index
+	 */
+	public void setIndex(int index) {
+		this.index = index;
+	}
+	
+	/**
+	 * Link this entry to the other entries of the same name. Called by the registrate when the entry is created.
+	 *
+	 * @param siblings The entries of the same name, keyed by registry type, which this entry must also be in
+	 */
+	public void setSiblings(Map<Class<?>, RegistryEntry<?>> siblings) {
+		this.siblings = siblings;
+	}
+	
+	/**
+	 * Cache the underlying entry, so that {@link #get()} no longer goes through the {@link RegistryObject}. Called by the registrate once all of its entries have
+	 * been registered, and again whenever the reference is updated after that.
+	 * <p>
+	 * Afterwards {@link #get()} returns the same object as before, but without the checks. Entries which are not present are not frozen.
+	 */
+	public void freeze() {
+		frozen = getDelegateValue();
 	}
 	
 	/**
@@ -63,8 +114,17 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 	@Override
 	@NonnullType
 	public T get() {
-		RegistryObject<T> delegate = this.delegate;
-		return Objects.requireNonNull(getUnchecked(), () -> delegate == null ? "Registry entry is empty" : "Registry entry not present: " + delegate.getId());
+		T frozen = this.frozen;
+		return frozen != null ? frozen : getChecked();
+	}
+	
+	// Kept out of get() so that it stays small enough to inline
+	private T getChecked() {
+		T ret = getDelegateValue();
+		if (ret == null) {
+			throw new NullPointerException(delegate == null ? "Registry entry is empty" : "Registry entry not present: " + delegate.getId());
+		}
+		return ret;
 	}
 	
 	/**
@@ -74,19 +134,62 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 	 */
 	@Nullable
 	public T getUnchecked() {
+		T frozen = this.frozen;
+		return frozen != null ? frozen : getDelegateValue();
+	}
+	
+	@Nullable
+	private T getDelegateValue() {
 		RegistryObject<T> delegate = this.delegate;
 		return delegate == null ? null : delegate.orElse(null);
 	}
 	
+	/**
+	 * Get the entry of the same name for another registry type, such as the item of a block.
+	 *
+	 * @param registryType A class representing the registry type
+	 * @return The sibling entry
+	 * @throws IllegalArgumentException if there is no entry of the same name for the given type
+	 */
 	@SuppressWarnings("unchecked")
 	public <R, E extends R> RegistryEntry<E> getSibling(Class<? super R> registryType) {
-		return this == EMPTY ? empty() : owner.get(getId().getPath(), (Class<R>) registryType);
+		if (this == EMPTY) {
+			return empty();
+		}
+		Map<Class<?>, RegistryEntry<?>> siblings = this.siblings;
+		if (siblings == null) {
+			return owner.get(getId().getPath(), (Class<R>) registryType);
+		}
+		RegistryEntry<?> ret = siblings.get(registryType);
+		if (ret == null) {
+			throw new IllegalArgumentException("Unknown registration " + getId().getPath() + " for type " + registryType);
+		}
+		return (RegistryEntry<E>) ret;
 	}
 	
 	public <R, E extends R> RegistryEntry<E> getSibling(Registry<R> registry) {
 		return getSibling(RegistryUtil.getRegistrationClass(registry));
 	}
 	
+	/**
+	 * Get the entry of the same name for another registry type, such as the item of a block, if there is one.
+	 *
+	 * @param registryType A class representing the registry type
+	 * @return The sibling entry, or {@link Optional#empty()} if there is no entry of the same name for the given type
+	 */
+	@SuppressWarnings("unchecked")
+	public <R, E extends R> Optional<RegistryEntry<E>> getOptionalSibling(Class<? super R> registryType) {
+		Map<Class<?>, RegistryEntry<?>> siblings = this.siblings;
+		if (siblings == null) {
+			return this == EMPTY ? Optional.empty() : Optional.of(owner.<R, E>getOptional(getId().getPath(), registryType)).filter(e -> e != EMPTY);
+		}
+		return Optional.ofNullable((RegistryEntry<E>) siblings.get(registryType));
+	}
+	
+	public <R, E extends R> Optional<RegistryEntry<E>> getOptionalSibling(Registry<R> registry) {
+		return getOptionalSibling(RegistryUtil.getRegistrationClass(registry));
+	}
+	
 	/**
 	 * If an entry is present, and the entry matches the given predicate, return an {@link RegistryEntry} describing the value, otherwise return an empty {@link RegistryEntry}.
 	 *
@@ -106,8 +209,8 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 		return get() == entry;
 	}
 	
+	// Entries are equal if their delegates have the same registry and id
 	@Override
-	@javax.annotation.Generated("lombok")
 	public boolean equals(final Object o) {
 		if (o == this) return true;
 		if (!(o instanceof RegistryEntry)) return false;
@@ -125,13 +228,8 @@ public class RegistryEntry<T> implements NonNullSupplier<T> {
 	}
 	
 	@Override
-	@javax.annotation.Generated("lombok")
 	public int hashCode() {
-		final int PRIME = 59;
-		int result = 1;
-		final Object $delegate = this.delegate;
-		result = result * PRIME + ($delegate == null ? 43 : $delegate.hashCode());
-		return result;
+		return hash;
 	}
 	
 	@javax.annotation.Generated("lombok")
@@ -0,0 +1,63 @@
+package com.tterrag.registrarrp.util.entry;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, array-backed list of {@link RegistryEntry RegistryEntries}, as returned by {@link com.tterrag.registrarrp.AbstractRegistrate#getAllIndexed(Class)}.
+ * <p>
+ * {@link #forEach(Consumer)} and {@link #forEachObject(Consumer)} walk the array directly, so that no iterator is allocated.
+ *
+ * @param <R> The type of the entries
+ */
+public final class RegistryEntryList<R> extends AbstractList<RegistryEntry<R>> implements RandomAccess {
+	private final RegistryEntry<R>[] entries;
+	
+	@SuppressWarnings("unchecked")
+	public RegistryEntryList(Collection<? extends RegistryEntry<R>> entries) {
+		this.entries = entries.toArray(new RegistryEntry[0]);
+	}
+	
+	@Override
+	public RegistryEntry<R> get(int index) {
+		return entries[index];
+	}
+	
+	/**
+	 * Get the object of the entry at the given index, throwing an exception if it is not present.
+	 *
+	 * @param index The index of the entry
+	 * @return The (non-null) object
+	 */
+	public R getObject(int index) {
+		return entries[index].get();
+	}
+	
+	@Override
+	public int size() {
+		return entries.length;
+	}
+	
+	@Override
+	public void forEach(Consumer<? super RegistryEntry<R>> action) {
+		Objects.requireNonNull(action);
+		for (RegistryEntry<R> entry : entries) {
+			action.accept(entry);
+		}
+	}
+	
+	/**
+	 * Perform an action for the object of every entry, throwing an exception if any is not present.
+	 *
+	 * @param action The action to perform
+	 */
+	public void forEachObject(Consumer<? super R> action) {
+		Objects.requireNonNull(action);
+		for (RegistryEntry<R> entry : entries) {
+			action.accept(entry.get());
+		}
+	}
+}
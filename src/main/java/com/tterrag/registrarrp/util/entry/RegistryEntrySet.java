@@ -0,0 +1,137 @@
+package com.tterrag.registrarrp.util.entry;
+
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A set of registry objects for fast membership tests, backed by a bitset over their raw ids. Lookups go through the registry's raw id map, which compares
+ * objects by identity, and neither box nor hash the objects themselves.
+ * <p>
+ * The bitset is built the first time the set is used, so sets may be created before their entries are registered, such as in static fields. It is rebuilt
+ * whenever the registry is remapped, for example when joining a server.
+ * <p>
+ * A simple use may look like:
+ *
+ * <pre>
+ * {@code
+ * public static final RegistryEntrySet<Block> ORES = RegistryEntrySet.of(Registry.BLOCK, RUBY_ORE, SAPPHIRE_ORE);
+ *
+ * ...
+ *
+ * if (ORES.contains(state.getBlock())) {
+ * }
+ * </pre>
+ *
+ * @param <R> The type of the registry
+ * @see com.tterrag.registrarrp.AbstractRegistrate#getTagSet(Registry, Identifier)
+ */
+public final class RegistryEntrySet<R> {
+	private final Registry<R> registry;
+	private final Collection<Identifier> ids;
+	private final AtomicInteger remapGeneration;
+	@Nullable
+	private volatile Bits bits;
+	
+	private RegistryEntrySet(Registry<R> registry, Collection<Identifier> ids) {
+		this.registry = registry;
+		this.ids = ids;
+		this.remapGeneration = RemapGenerations.of(registry);
+	}
+	
+	/**
+	 * @param registry The registry the entries belong to
+	 * @param entries  The entries in the set, such as those returned by {@link com.tterrag.registrarrp.AbstractRegistrate#getAll(Class)}
+	 * @return A new set of the given entries
+	 */
+	public static <R> RegistryEntrySet<R> of(Registry<R> registry, Collection<? extends RegistryEntry<? extends R>> entries) {
+		List<Identifier> ids = new ArrayList<>(entries.size());
+		for (RegistryEntry<? extends R> entry : entries) {
+			ids.add(entry.getId());
+		}
+		return new RegistryEntrySet<>(registry, ids);
+	}
+	
+	/**
+	 * @param registry The registry the entries belong to
+	 * @param entries  The entries in the set
+	 * @return A new set of the given entries
+	 */
+	@SafeVarargs
+	public static <R> RegistryEntrySet<R> of(Registry<R> registry, RegistryEntry<? extends R>... entries) {
+		List<RegistryEntry<? extends R>> list = new ArrayList<>(entries.length);
+		Collections.addAll(list, entries);
+		return of(registry, list);
+	}
+	
+	/**
+	 * @param registry The registry the entries belong to
+	 * @param ids      The ids of the entries in the set. Ids which are not registered are ignored. The collection is read the first time the set is used, and
+	 *                 again whenever the registry is remapped.
+	 * @return A new set of the given entries
+	 */
+	public static <R> RegistryEntrySet<R> ofIds(Registry<R> registry, Collection<Identifier> ids) {
+		return new RegistryEntrySet<>(registry, ids);
+	}
+	
+	/**
+	 * @param object The object to look for
+	 * @return {@code true} if the object is in this set
+	 */
+	public boolean contains(@Nullable R object) {
+		return object != null && containsRawId(registry.getRawId(object));
+	}
+	
+	/**
+	 * @param rawId The raw id of the object to look for, as returned by {@link Registry#getRawId(Object)}
+	 * @return {@code true} if the object with the given raw id is in this set
+	 */
+	public boolean containsRawId(int rawId) {
+		Bits bits = this.bits;
+		int generation = remapGeneration.get();
+		if (bits == null || bits.generation != generation) {
+			bits = new Bits(build(), generation);
+			this.bits = bits;
+		}
+		long[] words = bits.words;
+		int word = rawId >>> 6;
+		return rawId >= 0 && word < words.length && (words[word] & (1L << rawId)) != 0;
+	}
+	
+	private long[] build() {
+		int max = -1;
+		int[] rawIds = new int[ids.size()];
+		int count = 0;
+		for (Identifier id : ids) {
+			R object = registry.get(id);
+			// Registry.get returns the default entry for defaulted registries, so check the id as well
+			if (object != null && id.equals(registry.getId(object))) {
+				int rawId = registry.getRawId(object);
+				rawIds[count++] = rawId;
+				max = Math.max(max, rawId);
+			}
+		}
+		long[] ret = new long[max < 0 ? 0 : (max >>> 6) + 1];
+		for (int i = 0; i < count; i++) {
+			ret[rawIds[i] >>> 6] |= 1L << rawIds[i];
+		}
+		return ret;
+	}
+	
+	// The bitset along with the remap generation it was built for
+	private static final class Bits {
+		private final long[] words;
+		private final int generation;
+		
+		Bits(long[] words, int generation) {
+			this.words = words;
+			this.generation = generation;
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.tterrag.registrarrp.util.entry;
+
+import net.fabricmc.fabric.api.event.registry.RegistryIdRemapCallback;
+import net.minecraft.util.registry.Registry;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts how many times each registry has been remapped, so that anything caching raw ids can tell when its cache is stale. Fabric never removes remap
+ * listeners, so there is one listener per registry rather than one per cache.
+ */
+final class RemapGenerations {
+	private static final Map<Registry<?>, AtomicInteger> GENERATIONS = new IdentityHashMap<>();
+	
+	private RemapGenerations() {}
+	
+	/**
+	 * @param registry The registry
+	 * @return A counter which is incremented whenever the registry is remapped
+	 */
+	static synchronized AtomicInteger of(Registry<?> registry) {
+		AtomicInteger ret = GENERATIONS.get(registry);
+		if (ret == null) {
+			ret = new AtomicInteger();
+			listen(registry, ret);
+			GENERATIONS.put(registry, ret);
+		}
+		return ret;
+	}
+	
+	private static <T> void listen(Registry<T> registry, AtomicInteger generation) {
+		RegistryIdRemapCallback.event(registry).register(state -> generation.incrementAndGet());
+	}
+}
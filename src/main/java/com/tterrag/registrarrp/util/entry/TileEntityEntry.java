@@ -5,12 +5,15 @@ import com.tterrag.registrarrp.fabric.RegistryObject;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockView;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
 public class TileEntityEntry<T extends BlockEntity> extends RegistryEntry<BlockEntityType<T>> {
+	// Direction.values() copies the array on every call
+	private static final Direction[] DIRECTIONS = Direction.values();
 	
 	public TileEntityEntry(AbstractRegistrate<?> owner, RegistryObject<BlockEntityType<T>> delegate) {
 		super(owner, delegate);
@@ -64,4 +67,84 @@ public class TileEntityEntry<T extends BlockEntity> extends RegistryEntry<BlockE
 		BlockEntity te = world.getBlockEntity(pos);
 		return is(te) ? (T) te : null;
 	}
+	
+	/**
+	 * Get an instance of this {@link BlockEntity} from the world, without allocating a new {@link BlockPos}.
+	 *
+	 * @param world  The world to look for the instance in
+	 * @param cursor A mutable position, which is moved to the given coordinates
+	 * @param x      The x coordinate of the instance
+	 * @param y      The y coordinate of the instance
+	 * @param z      The z coordinate of the instance
+	 * @return The instance, if it exists and matches this type. Otherwise, {@code null}.
+	 */
+	public @Nullable T getNullable(BlockView world, BlockPos.Mutable cursor, int x, int y, int z) {
+		return getNullable(world, get(), cursor.set(x, y, z));
+	}
+	
+	/**
+	 * Get all instances of this {@link BlockEntity} at the given positions, such as the parts of a multiblock.
+	 *
+	 * @param world     The world to look for the instances in
+	 * @param positions The positions to look at, packed with {@link BlockPos#asLong()}
+	 * @param cursor    A mutable position, used to look up each position in turn
+	 * @param out       An array at least as long as {@code positions}, which is filled with the instance at each position, or {@code null} if there is none
+	 * @return The number of instances found
+	 */
+	public int getAll(BlockView world, long[] positions, BlockPos.Mutable cursor, T[] out) {
+		BlockEntityType<T> type = get();
+		int found = 0;
+		for (int i = 0; i < positions.length; i++) {
+			long pos = positions[i];
+			T te = getNullable(world, type, cursor.set(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos)));
+			out[i] = te;
+			if (te != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	/**
+	 * Get all instances of this {@link BlockEntity} at the given positions, such as the parts of a multiblock.
+	 *
+	 * @param world     The world to look for the instances in
+	 * @param positions The positions to look at, packed with {@link BlockPos#asLong()}
+	 * @param out       An array at least as long as {@code positions}, which is filled with the instance at each position, or {@code null} if there is none
+	 * @return The number of instances found
+	 * @see #getAll(BlockView, long[], BlockPos.Mutable, BlockEntity[])
+	 */
+	public int getAll(BlockView world, long[] positions, T[] out) {
+		return getAll(world, positions, new BlockPos.Mutable(), out);
+	}
+	
+	/**
+	 * Get all instances of this {@link BlockEntity} adjacent to the given position.
+	 *
+	 * @param world  The world to look for the instances in
+	 * @param pos    The position whose neighbors to look at
+	 * @param cursor A mutable position, used to look up each neighbor in turn. May not be {@code pos} itself.
+	 * @param out    An array of at least 6 elements, which is filled with the instance on each side, indexed by {@link Direction#ordinal()}, or {@code null} if
+	 *               there is none
+	 * @return The number of instances found
+	 */
+	public int getNeighbors(BlockView world, BlockPos pos, BlockPos.Mutable cursor, T[] out) {
+		BlockEntityType<T> type = get();
+		int x = pos.getX(), y = pos.getY(), z = pos.getZ();
+		int found = 0;
+		for (Direction side : DIRECTIONS) {
+			T te = getNullable(world, type, cursor.set(x + side.getOffsetX(), y + side.getOffsetY(), z + side.getOffsetZ()));
+			out[side.ordinal()] = te;
+			if (te != null) {
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T extends BlockEntity> @Nullable T getNullable(BlockView world, BlockEntityType<T> type, BlockPos pos) {
+		BlockEntity te = world.getBlockEntity(pos);
+		return te != null && te.getType() == type ? (T) te : null;
+	}
 }
@@ -0,0 +1,69 @@
+package com.tterrag.registrarrp.fabric;
+
+import com.tterrag.registrarrp.util.NonNullLazyValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class LazyTest {
+	private static final int THREADS = 8;
+	private static final int ROUNDS = 200;
+	
+	@Test
+	public void lazyRunsSupplierOnce() throws Exception {
+		assertRunsOnce(supplier -> new Lazy<>(supplier)::get);
+	}
+	
+	@Test
+	public void nonNullLazyValueRunsSupplierOnce() throws Exception {
+		assertRunsOnce(supplier -> new NonNullLazyValue<>(supplier::get));
+	}
+	
+	/**
+	 * Call {@code get()} from several threads at once, on a fresh lazy value each round, and check that every thread sees the one value the supplier created.
+	 *
+	 * @param factory Creates the lazy value to test from the counting supplier
+	 */
+	public static void assertRunsOnce(Function<Supplier<Object>, ? extends Supplier<?>> factory) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				AtomicInteger calls = new AtomicInteger();
+				Supplier<?> lazy = factory.apply(() -> {
+					calls.incrementAndGet();
+					// Give the other threads a chance to race past the check
+					Thread.yield();
+					return new Object();
+				});
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> results = new ArrayList<>(THREADS);
+				for (int i = 0; i < THREADS; i++) {
+					results.add(executor.submit(() -> {
+						start.await();
+						return lazy.get();
+					}));
+				}
+				start.countDown();
+				Object value = results.get(0).get(10, TimeUnit.SECONDS);
+				for (Future<?> result : results) {
+					assertSame(value, result.get(10, TimeUnit.SECONDS));
+				}
+				assertEquals(1, calls.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
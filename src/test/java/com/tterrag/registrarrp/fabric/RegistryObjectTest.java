@@ -0,0 +1,37 @@
+package com.tterrag.registrarrp.fabric;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class RegistryObjectTest {
+	private static final Identifier STONE = new Identifier("minecraft", "stone");
+	
+	@BeforeAll
+	public static void bootstrap() {
+		Bootstrap.initialize();
+	}
+	
+	@Test
+	public void sameRegistryAndIdAreEqual() {
+		RegistryObject<?> a = RegistryObject.of(STONE, Registry.BLOCK);
+		RegistryObject<?> b = RegistryObject.of(new Identifier("minecraft", "stone"), Registry.BLOCK);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void sameIdInDifferentRegistriesAreNotEqual() {
+		assertNotEquals(RegistryObject.of(STONE, Registry.BLOCK), RegistryObject.of(STONE, Registry.ITEM));
+	}
+	
+	@Test
+	public void differentIdsAreNotEqual() {
+		assertNotEquals(RegistryObject.of(STONE, Registry.BLOCK), RegistryObject.of(new Identifier("minecraft", "dirt"), Registry.BLOCK));
+	}
+}
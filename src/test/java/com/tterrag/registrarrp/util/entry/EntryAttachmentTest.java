@@ -0,0 +1,70 @@
+package com.tterrag.registrarrp.util.entry;
+
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.RegistryObject;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class EntryAttachmentTest {
+	@BeforeAll
+	public static void bootstrap() {
+		Bootstrap.initialize();
+	}
+	
+	private static RegistryEntry<Block> entry(String path, int index) {
+		RegistryEntry<Block> ret = new RegistryEntry<>(mock(AbstractRegistrate.class), RegistryObject.of(new Identifier("minecraft", path), Registry.BLOCK));
+		ret.setIndex(index);
+		return ret;
+	}
+	
+	private static EntryAttachment<Block, String> attachment() {
+		return new EntryAttachment<>(Registry.BLOCK, new AtomicInteger());
+	}
+	
+	@Test
+	public void interleavedRegistrationOrder() {
+		// As if blocks were registered as [stone, dirt], but another type as [dirt, stone], so that the entries of that type are listed by name rather than index
+		RegistryEntry<Block> stone = entry("stone", 1);
+		RegistryEntry<Block> dirt = entry("dirt", 0);
+		EntryAttachment<Block, String> attachment = attachment();
+		attachment.put(stone, "stone");
+		attachment.allocate(new RegistryEntryList<>(Arrays.asList(stone, dirt)));
+		attachment.put(dirt, "dirt");
+		assertEquals("stone", attachment.get(stone));
+		assertEquals("dirt", attachment.get(dirt));
+		assertEquals("stone", attachment.get(Blocks.STONE));
+		assertEquals("dirt", attachment.get(Blocks.DIRT));
+	}
+	
+	@Test
+	public void entryRegisteredAfterAllocation() {
+		RegistryEntry<Block> stone = entry("stone", 0);
+		RegistryEntry<Block> dirt = entry("dirt", 1);
+		EntryAttachment<Block, String> attachment = attachment();
+		attachment.allocate(new RegistryEntryList<>(Arrays.asList(stone)));
+		assertNull(attachment.get(dirt));
+		attachment.put(dirt, "dirt");
+		assertEquals("dirt", attachment.get(dirt));
+		assertEquals("dirt", attachment.get(Blocks.DIRT));
+	}
+	
+	@Test
+	public void emptyEntryIsRejected() {
+		EntryAttachment<Block, String> attachment = attachment();
+		assertThrows(IllegalArgumentException.class, () -> attachment.put(RegistryEntry.empty(), "empty"));
+		assertThrows(IllegalArgumentException.class, () -> attachment.get(RegistryEntry.<Block>empty()));
+	}
+}
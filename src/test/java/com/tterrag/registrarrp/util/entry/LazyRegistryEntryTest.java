@@ -0,0 +1,19 @@
+package com.tterrag.registrarrp.util.entry;
+
+import com.tterrag.registrarrp.fabric.LazyTest;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LazyRegistryEntryTest {
+	@Test
+	@SuppressWarnings("unchecked")
+	public void runsSupplierOnce() throws Exception {
+		LazyTest.assertRunsOnce(supplier -> new LazyRegistryEntry<>(() -> {
+			RegistryEntry<Object> entry = mock(RegistryEntry.class);
+			when(entry.get()).thenReturn(supplier.get());
+			return entry;
+		}));
+	}
+}
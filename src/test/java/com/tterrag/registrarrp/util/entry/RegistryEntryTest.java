@@ -0,0 +1,78 @@
+package com.tterrag.registrarrp.util.entry;
+
+import com.tterrag.registrarrp.AbstractRegistrate;
+import com.tterrag.registrarrp.fabric.RegistryObject;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.enchantment.Enchantment;
+import net.minecraft.item.Item;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class RegistryEntryTest {
+	private static final Identifier STONE = new Identifier("minecraft", "stone");
+	private static final Identifier MISSING = new Identifier("registrarrp", "missing");
+	
+	@BeforeAll
+	public static void bootstrap() {
+		Bootstrap.initialize();
+	}
+	
+	private static <T> RegistryEntry<T> entry(Identifier id, Registry<? super T> registry) {
+		return new RegistryEntry<>(mock(AbstractRegistrate.class), RegistryObject.of(id, registry));
+	}
+	
+	@Test
+	public void getAfterFreezeReturnsSameObject() {
+		RegistryEntry<Block> entry = entry(STONE, Registry.BLOCK);
+		Block checked = entry.get();
+		assertSame(Blocks.STONE, checked);
+		entry.freeze();
+		assertSame(checked, entry.get());
+		assertSame(checked, entry.getUnchecked());
+	}
+	
+	@Test
+	public void freezeWhenNotPresent() {
+		// Not the block registry, which would return air for a missing id
+		RegistryEntry<Enchantment> entry = entry(MISSING, Registry.ENCHANTMENT);
+		entry.freeze();
+		assertNull(entry.getUnchecked());
+		assertThrows(NullPointerException.class, entry::get);
+	}
+	
+	@Test
+	public void updateReferenceRefreezes() {
+		RegistryEntry<Block> entry = entry(STONE, Registry.BLOCK);
+		entry.freeze();
+		entry.updateReference(Registry.BLOCK);
+		assertSame(Blocks.STONE, entry.get());
+	}
+	
+	@Test
+	public void sameRegistryAndIdAreEqual() {
+		// Entries from different registrates are equal as long as they refer to the same object
+		RegistryEntry<Block> a = entry(STONE, Registry.BLOCK);
+		RegistryEntry<Block> b = entry(STONE, Registry.BLOCK);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+	}
+	
+	@Test
+	public void sameIdInDifferentRegistriesAreNotEqual() {
+		RegistryEntry<Block> block = entry(STONE, Registry.BLOCK);
+		RegistryEntry<Item> item = entry(STONE, Registry.ITEM);
+		assertNotEquals(block, item);
+		assertNotEquals(item, block);
+	}
+}